@@ -0,0 +1,148 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.benchmarks;
+
+import java.io.File;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * Shared helpers for the module benchmarks. Every benchmark is parameterized by the BIF name, and this class knows
+ * how to build each BIF, its arguments and the equivalent BoxLang source.
+ */
+public final class BenchmarkSupport {
+
+	/**
+	 * The volume used by the space benchmarks: the first file system root of the machine
+	 */
+	public static final String	VOLUME		= File.listRoots()[ 0 ].getAbsolutePath();
+
+	/**
+	 * The package of the module BIFs
+	 */
+	private static final String	BIF_PACKAGE	= "ortus.boxlang.oshi.bifs.";
+
+	private BenchmarkSupport() {
+	}
+
+	/**
+	 * Get the BoxLang runtime the benchmarks run in
+	 *
+	 * @return The runtime
+	 */
+	public static BoxRuntime runtime() {
+		return BoxRuntime.getInstance( true );
+	}
+
+	/**
+	 * Create a new request context for the benchmarks
+	 *
+	 * @param runtime The runtime
+	 *
+	 * @return The context
+	 */
+	public static IBoxContext newContext( BoxRuntime runtime ) {
+		return new ScriptingRequestBoxContext( runtime.getRuntimeContext() );
+	}
+
+	/**
+	 * Create the BIF instance for a BIF name, e.g. <code>getCpuUsage</code> is <code>GetCpuUsage</code>
+	 *
+	 * @param name The BIF name
+	 *
+	 * @return The BIF
+	 */
+	public static BIF newBIF( String name ) {
+		String className = BIF_PACKAGE + Character.toUpperCase( name.charAt( 0 ) ) + name.substring( 1 );
+		try {
+			return ( BIF ) Class.forName( className ).getDeclaredConstructor().newInstance();
+		} catch ( ReflectiveOperationException e ) {
+			throw new BoxRuntimeException( "Cannot create the BIF for benchmark [" + name + "]", e );
+		}
+	}
+
+	/**
+	 * Build the arguments scope to invoke a BIF directly. Declared defaults are not applied on direct invocations,
+	 * so they are set here.
+	 *
+	 * @param name The BIF name
+	 *
+	 * @return The arguments scope
+	 */
+	public static ArgumentsScope newArguments( String name ) {
+		ArgumentsScope arguments = new ArgumentsScope();
+		switch ( name ) {
+			case "getFreeSpace", "getTotalSpace" :
+				arguments.put( Key.path, VOLUME );
+				break;
+			case "getHardware", "getOperatingSystem", "getSystemInfo" :
+				arguments.put( KeyDictionary.asStruct, false );
+				break;
+			case "getMemoryUsage" :
+				arguments.put( Key.type, "total" );
+				break;
+			case "getMetricHistory" :
+				arguments.put( KeyDictionary.metric, "cpuUsage" );
+				arguments.put( KeyDictionary.since, 0 );
+				arguments.put( KeyDictionary.limit, 0 );
+				break;
+			case "getMetricsExposition" :
+				arguments.put( KeyDictionary.format, "openmetrics" );
+				break;
+			case "getPressure" :
+				arguments.put( KeyDictionary.resource, "cpu" );
+				break;
+			case "getTopProcesses" :
+				arguments.put( KeyDictionary.by, "cpu" );
+				arguments.put( KeyDictionary.limit, 10 );
+				break;
+			case "oshiToStruct" :
+				arguments.put( KeyDictionary.object, OshiService.getInstance().getHardware() );
+				break;
+			default :
+				break;
+		}
+		return arguments;
+	}
+
+	/**
+	 * Build the BoxLang source that calls a BIF with the same arguments as {@link #newArguments(String)}
+	 *
+	 * @param name The BIF name
+	 *
+	 * @return The source
+	 */
+	public static String newSource( String name ) {
+		return switch ( name ) {
+			case "getFreeSpace", "getTotalSpace" -> "result = " + name + "( \"" + VOLUME + "\" )";
+			case "getMemoryUsage" -> "result = " + name + "( \"total\" )";
+			case "getMetricHistory" -> "result = " + name + "( \"cpuUsage\" )";
+			case "oshiToStruct" -> "result = " + name + "( getHardware() )";
+			default -> "result = " + name + "()";
+		};
+	}
+
+}
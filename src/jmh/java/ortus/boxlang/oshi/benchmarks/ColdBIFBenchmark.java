@@ -0,0 +1,128 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+
+/**
+ * Cold benchmarks of every BIF in the module: each measured call is the first one after the module service has
+ * been released, so it pays the OSHI platform detection and the first native queries. The first iteration of
+ * each fork also pays the class loading and JNA setup.
+ * <p>
+ * Each BIF is measured invoked directly and through <code>runtime.executeSource()</code>.
+ * <p>
+ * Run with: <code>./gradlew jmh -PjmhIncludes=ColdBIFBenchmark</code>
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.SingleShotTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 0 )
+@Measurement( iterations = 10 )
+@Fork( 3 )
+public class ColdBIFBenchmark {
+
+	// @formatter:off
+	@Param( {
+		"getCpuUsage",
+		"getDiskIOStats",
+		"getFreeSpace",
+		"getGCStats",
+		"getHardware",
+		"getHardwareInventory",
+		"getJVMFreeMemory",
+		"getJVMMaxMemory",
+		"getJVMTotalMemory",
+		"getLoadAverage",
+		"getMemoryUsage",
+		"getMetricHistory",
+		"getMetricsExposition",
+		"getNetworkUsage",
+		"getOperatingSystem",
+		"getPressure",
+		"getProcessInfo",
+		"getProcessorCpuUsage",
+		"getSystemFreeMemory",
+		"getSystemInfo",
+		"getSystemSnapshot",
+		"getSystemTotalMemory",
+		"getTopProcesses",
+		"getTotalSpace",
+		"oshiToStruct"
+	} )
+	// @formatter:on
+	public String			bif;
+
+	private BoxRuntime		runtime;
+	private IBoxContext		context;
+	private BIF				instance;
+	private ArgumentsScope	arguments;
+	private String			source;
+
+	@Setup
+	public void setup() {
+		runtime		= BenchmarkSupport.runtime();
+		context		= BenchmarkSupport.newContext( runtime );
+		instance	= BenchmarkSupport.newBIF( bif );
+		arguments	= BenchmarkSupport.newArguments( bif );
+		source		= BenchmarkSupport.newSource( bif );
+	}
+
+	/**
+	 * Release the module service before every measured call, so the call starts cold
+	 */
+	@Setup( Level.Iteration )
+	public void releaseService() {
+		OshiService.shutdown();
+	}
+
+	@TearDown
+	public void tearDown() {
+		OshiService.shutdown();
+	}
+
+	@Benchmark
+	public Object direct() {
+		return instance._invoke( context, arguments );
+	}
+
+	@Benchmark
+	public void executeSource() {
+		runtime.executeSource( source, context );
+	}
+
+}
@@ -17,6 +17,10 @@
  */
 package ortus.boxlang.oshi.bifs;
 
+import java.util.Set;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.util.KeyDictionary;
 import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.context.IBoxContext;
@@ -24,7 +28,7 @@ import ortus.boxlang.runtime.dynamic.casters.LongCaster;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
-import oshi.SystemInfo;
+import ortus.boxlang.runtime.validation.Validator;
 
 @BoxBIF
 public class GetCpuUsage extends BIF {
@@ -35,24 +39,46 @@ public class GetCpuUsage extends BIF {
 	public GetCpuUsage() {
 		super();
 		declaredArguments = new Argument[] {
-		    new Argument( false, Argument.NUMERIC, Key.interval, 1000 )
+		    new Argument( false, Argument.NUMERIC, Key.interval ),
+		    new Argument( false, Argument.STRING, KeyDictionary.scope, "host", Set.of( Validator.valueOneOf( "host", "container" ) ) )
 		};
 	}
 
 	/**
 	 * Get's the CPU usage from the OSHI library. You can use this to get the CPU usage
 	 * of the system.
+	 * <p>
+	 * By default the latest load computed by the module's background sampler is returned right away.
+	 * If you pass an <code>interval</code>, the calling thread will be blocked for that amount of time
+	 * while the CPU usage is measured.
+	 * <p>
+	 * With <code>scope="container"</code> the CPU usage of the container is returned instead: the CPU time used by its
+	 * cgroup relative to its CPU quota, or to the host processors if it has no quota.
 	 *
 	 * @param context   The context in which the BIF is being invoked.
 	 * @param arguments Argument scope for the BIF.
 	 *
-	 * @argument.interval The interval in milliseconds to get the CPU usage. The default is 1000.
+	 * @argument.interval If passed, the interval in milliseconds to block and measure the CPU usage. By default the
+	 *                    latest sampled value is returned without blocking.
+	 * @argument.scope    <code>host</code> (default) for the whole system or <code>container</code> for the cgroup the
+	 *                    JVM runs in. Outside of a cgroup both return the system CPU usage.
 	 *
 	 * @return The CPU usage of the system.
 	 */
 	public Double _invoke( IBoxContext context, ArgumentsScope arguments ) {
-		Long delay = LongCaster.cast( arguments.get( Key.interval ) );
-		return new SystemInfo().getHardware().getProcessor().getSystemCpuLoad( delay );
+		OshiService	oshi		= OshiService.getInstance();
+		Object		interval	= arguments.get( Key.interval );
+		boolean		container	= "container".equalsIgnoreCase( arguments.getAsString( KeyDictionary.scope ) );
+
+		// Blocking measurement only if explicitly requested
+		if ( interval != null ) {
+			Long delay = LongCaster.cast( interval );
+			if ( delay > 0 ) {
+				return container ? oshi.getContainerCpuLoad( delay ) : oshi.getSystemCpuLoad( delay );
+			}
+		}
+
+		return container ? oshi.getContainerCpuLoad() : oshi.getCpuLoadSampler().getSystemCpuLoad();
 	}
 
 }
@@ -0,0 +1,59 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import ortus.boxlang.oshi.util.AsyncProbes;
+import ortus.boxlang.runtime.async.BoxFuture;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+
+@BoxBIF
+public class GetCpuUsageAsync extends BIF {
+
+	/**
+	 * The BIF that runs the probe
+	 */
+	private final GetCpuUsage delegate = new GetCpuUsage();
+
+	/**
+	 * Constructor
+	 */
+	public GetCpuUsageAsync() {
+		super();
+		declaredArguments = this.delegate.getDeclaredArguments();
+	}
+
+	/**
+	 * Get's the system CPU usage like <code>getCpuUsage()</code>, on the module's async executor. Useful with an
+	 * <code>interval</code>, which blocks for that time, to measure it while the request does other work.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.interval The interval in milliseconds to measure the CPU usage over. If not passed, the latest background sample is used.
+	 * @argument.scope    <code>host</code> (default) or <code>container</code> for the CPU usage of the cgroup the JVM runs in.
+	 *
+	 * @return A future of the <code>getCpuUsage()</code> result.
+	 */
+	public BoxFuture<Double> _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		return AsyncProbes.run( this.delegate, arguments );
+	}
+
+}
@@ -0,0 +1,65 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import ortus.boxlang.oshi.services.DiskIOSampler;
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.IStruct;
+
+@BoxBIF
+public class GetDiskIOStats extends BIF {
+
+	/**
+	 * Constructor
+	 */
+	public GetDiskIOStats() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( false, Argument.STRING, KeyDictionary.disk )
+		};
+	}
+
+	/**
+	 * Get the I/O activity of a physical disk from the module's background sampler, without blocking. The rates are
+	 * measured between the two latest samples.
+	 * <p>
+	 * The returned struct contains the <code>name</code>, <code>readBytesPerSecond</code>,
+	 * <code>writeBytesPerSecond</code>, <code>readsPerSecond</code>, <code>writesPerSecond</code>, <code>iops</code>
+	 * (reads and writes per second), <code>utilization</code> (the share of time the disk was busy transferring,
+	 * between 0 and 1) and the current <code>queueLength</code>.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.disk The disk name, e.g. "/dev/sda". If not passed, the stats of every disk are returned in a struct by name.
+	 *
+	 * @return The disk I/O stats struct.
+	 */
+	public IStruct _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		DiskIOSampler	sampler	= OshiService.getInstance().getDiskIOSampler();
+		String			name	= arguments.getAsString( KeyDictionary.disk );
+		return name == null || name.isEmpty() ? sampler.getStats() : sampler.getStats( name );
+	}
+
+}
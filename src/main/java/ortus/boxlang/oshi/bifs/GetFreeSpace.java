@@ -19,17 +19,14 @@ package ortus.boxlang.oshi.bifs;
 
 import java.util.Set;
 
+import ortus.boxlang.oshi.services.OshiService;
 import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
-import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.validation.Validator;
-import oshi.SystemInfo;
-import oshi.hardware.HWDiskStore;
-import oshi.software.os.OSFileStore;
 
 @BoxBIF
 public class GetFreeSpace extends BIF {
@@ -56,26 +53,7 @@ public class GetFreeSpace extends BIF {
 	 * @return The free space of the path.
 	 */
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
-		SystemInfo	si			= new SystemInfo();
-		String		volumeName	= arguments.getAsString( Key.path );
-
-		// Check for mounted file systems
-		for ( OSFileStore fs : si.getOperatingSystem().getFileSystem().getFileStores() ) {
-			if ( fs.getMount().equals( volumeName ) ) {
-				return fs.getTotalSpace();
-			}
-		}
-
-		// Check for physical disks if volume name not found
-		// Useful, so you can get things like `disk1` instead of `/dev/disk1`
-		for ( HWDiskStore disk : si.getHardware().getDiskStores() ) {
-			if ( disk.getName().equals( volumeName ) ) {
-				return disk.getSize() - disk.getWriteBytes();
-			}
-		}
-
-		// Volume not found
-		throw new BoxRuntimeException( "Volume not found: " + volumeName );
+		return OshiService.getInstance().getFreeSpace( arguments.getAsString( Key.path ) );
 	}
 
 }
@@ -0,0 +1,49 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.IStruct;
+
+@BoxBIF
+public class GetGCStats extends BIF {
+
+	/**
+	 * Get's the garbage collection pressure of the JVM over the sliding window set by the <code>gcWindow</code> module
+	 * setting, from the module's background sampler.
+	 * <p>
+	 * The returned struct contains the <code>window</code> in milliseconds, the <code>collections</code> and
+	 * <code>collectionTime</code> (ms) in the window, the <code>gcTimePercentage</code>, the
+	 * <code>collectionsPerSecond</code>, the <code>allocatedBytes</code> and <code>allocationRate</code> in MB per
+	 * second (-1 if the JVM does not track allocations), and the cumulative <code>count</code> and <code>time</code>
+	 * of each collector in <code>collectors</code>.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @return The GC stats struct.
+	 */
+	public IStruct _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		return OshiService.getInstance().getGCSampler().getStats();
+	}
+
+}
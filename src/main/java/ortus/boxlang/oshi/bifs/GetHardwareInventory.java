@@ -0,0 +1,45 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.IStruct;
+
+@BoxBIF
+public class GetHardwareInventory extends BIF {
+
+	/**
+	 * Get's the static hardware inventory of the machine: CPU model and core counts, total memory, disk models and
+	 * serials, and OS version. It is discovered once when the module loads, or read from the file set by the
+	 * <code>inventoryPath</code> module setting if it was persisted during the current boot.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @return A struct with the <code>bootId</code>, <code>cpu</code>, <code>memory</code>, <code>os</code> and
+	 *         <code>disks</code> of the machine.
+	 */
+	public IStruct _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		return OshiService.getInstance().getHardwareInventory().toStruct();
+	}
+
+}
@@ -0,0 +1,50 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Array;
+
+@BoxBIF
+public class GetLoadAverage extends BIF {
+
+	/**
+	 * Get's the 1, 5 and 15 minute system load averages from the module's background sampler: the average number of
+	 * runnable (and on Linux, uninterruptible) tasks. Compare them to the logical processor count to tell if the
+	 * machine is saturated.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @return An array with the 1, 5 and 15 minute load averages. Values are negative when the platform does not
+	 *         provide them, e.g. on Windows.
+	 */
+	public Array _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		double[]	averages	= OshiService.getInstance().getLoadAverageSampler().getLoadAverages();
+		Array		result		= new Array( averages.length );
+		for ( double average : averages ) {
+			result.add( average );
+		}
+		return result;
+	}
+
+}
@@ -17,14 +17,21 @@
  */
 package ortus.boxlang.oshi.bifs;
 
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
 import java.util.Set;
 
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.oshi.util.ManagementBeans;
 import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.validation.Validator;
 
 @BoxBIF
@@ -36,21 +43,25 @@ public class GetMemoryUsage extends BIF {
 	public GetMemoryUsage() {
 		super();
 		declaredArguments = new Argument[] {
-		    new Argument( false, Argument.STRING, Key.type, "total", Set.of( Validator.typeOneOf( "heap", "non-heap", "total" ) ) )
+		    new Argument( false, Argument.STRING, Key.type, "total", Set.of( Validator.valueOneOf( "heap", "non-heap", "pools", "total" ) ) )
 		};
 	}
 
 	/**
 	 * Get's the memory usage from the JVM, either total (heap + non-heap) or just either one.
+	 * You can also get a breakdown of every memory pool (Metaspace, Code Cache segments, Eden, Survivor, Old Gen, etc.)
+	 * to size them.
 	 *
 	 * @param context   The context in which the BIF is being invoked.
 	 * @param arguments Argument scope for the BIF.
 	 *
-	 * @argument.type The type of memory to get. Either "heap", "non-heap", or "total". The default is "total".
+	 * @argument.type The type of memory to get. Either "heap", "non-heap", "pools", or "total". The default is "total".
 	 *
-	 * @return The CPU usage of the system.
+	 * @return The used memory in bytes, or for "pools" a struct keyed by pool name with the <code>type</code>,
+	 *         <code>used</code>, <code>committed</code>, <code>max</code> (-1 if undefined), <code>init</code> and
+	 *         <code>peakUsed</code> bytes of each pool.
 	 */
-	public Long _invoke( IBoxContext context, ArgumentsScope arguments ) {
+	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
 		String	type	= arguments.getAsString( Key.type );
 		Runtime	runtime	= Runtime.getRuntime();
 
@@ -58,11 +69,40 @@ public class GetMemoryUsage extends BIF {
 			case "heap" :
 				return runtime.totalMemory() - runtime.freeMemory();
 			case "non-heap" :
-				// Return a Struct of the following values:
-				// - "Code Cache"
+				return ManagementBeans.MEMORY.getNonHeapMemoryUsage().getUsed();
+			case "pools" :
+				return getPools();
 			default :
 				return runtime.totalMemory();
 		}
 	}
 
+	/**
+	 * Build the breakdown of the JVM memory pools
+	 *
+	 * @return A struct of the memory pools by name
+	 */
+	private IStruct getPools() {
+		IStruct pools = new Struct( IStruct.TYPES.LINKED );
+		for ( MemoryPoolMXBean pool : ManagementBeans.MEMORY_POOLS ) {
+			if ( !pool.isValid() ) {
+				continue;
+			}
+			MemoryUsage	usage	= pool.getUsage();
+			MemoryUsage	peak	= pool.getPeakUsage();
+			pools.put(
+			    Key.of( pool.getName() ),
+			    Struct.of(
+			        Key.type, pool.getType() == MemoryType.HEAP ? "heap" : "non-heap",
+			        KeyDictionary.used, usage.getUsed(),
+			        KeyDictionary.committed, usage.getCommitted(),
+			        KeyDictionary.max, usage.getMax(),
+			        KeyDictionary.init, usage.getInit(),
+			        KeyDictionary.peakUsed, peak.getUsed()
+			    )
+			);
+		}
+		return pools;
+	}
+
 }
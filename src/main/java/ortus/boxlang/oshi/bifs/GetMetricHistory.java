@@ -0,0 +1,81 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import java.util.Set;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.services.SystemMetric;
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
+import ortus.boxlang.runtime.dynamic.casters.LongCaster;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.DateTime;
+import ortus.boxlang.runtime.validation.Validator;
+
+@BoxBIF
+public class GetMetricHistory extends BIF {
+
+	/**
+	 * Constructor
+	 */
+	public GetMetricHistory() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( true, Argument.STRING, KeyDictionary.metric, Set.of( Validator.NON_EMPTY ) ),
+		    new Argument( false, Argument.ANY, KeyDictionary.since, 0 ),
+		    new Argument( false, Argument.NUMERIC, KeyDictionary.limit, 0 )
+		};
+	}
+
+	/**
+	 * Get the recent samples of a metric from the module's in-memory history. The history is filled by the module
+	 * sampler on the <code>history.interval</code> cadence and keeps the last <code>history.size</code> samples.
+	 * <p>
+	 * Tracked metrics are: cpuUsage, systemFreeMemory, systemTotalMemory, jvmFreeMemory, jvmMaxMemory, jvmTotalMemory,
+	 * and totalSpace and freeSpace if the <code>history.path</code> setting is defined.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.metric The name of the metric.
+	 *
+	 * @argument.since Only return the samples taken after this date or epoch millisecond. By default all the samples
+	 *                 are returned.
+	 *
+	 * @argument.limit The maximum number of samples to return, the most recent ones are kept. 0 means no limit.
+	 *
+	 * @return An array of structs with the <code>timestamp</code> in epoch milliseconds and the <code>value</code> of
+	 *         each sample, oldest first.
+	 */
+	public Array _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		SystemMetric	metric	= SystemMetric.of( arguments.getAsString( KeyDictionary.metric ) );
+		Object			since	= arguments.get( KeyDictionary.since );
+		long			sinceMs	= since instanceof DateTime date ? date.toEpochMillis() : LongCaster.cast( since );
+
+		return OshiService.getInstance()
+		    .getMetricHistory()
+		    .getSamples( metric, sinceMs, IntegerCaster.cast( arguments.get( KeyDictionary.limit ) ) );
+	}
+
+}
@@ -0,0 +1,63 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import java.util.Set;
+
+import ortus.boxlang.oshi.services.MetricsExposition.Format;
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.validation.Validator;
+
+@BoxBIF
+public class GetMetricsExposition extends BIF {
+
+	/**
+	 * Constructor
+	 */
+	public GetMetricsExposition() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( false, Argument.STRING, KeyDictionary.format, "openmetrics", Set.of( Validator.valueOneOf( "openmetrics", "prometheus" ) ) )
+		};
+	}
+
+	/**
+	 * Get the CPU, system memory, JVM memory and file system metrics in the Prometheus text or OpenMetrics exposition
+	 * format, ready to be served from a scrape endpoint. The output is written into a reusable buffer with
+	 * pre-encoded metric names and labels, so scraping often is cheap.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.format The exposition format: "openmetrics" or "prometheus". The default is "openmetrics".
+	 *
+	 * @return The metrics exposition text.
+	 */
+	public String _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		return OshiService.getInstance()
+		    .getMetricsExposition()
+		    .write( Format.of( arguments.getAsString( KeyDictionary.format ) ) );
+	}
+
+}
@@ -0,0 +1,65 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import ortus.boxlang.oshi.services.NetworkSampler;
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.IStruct;
+
+@BoxBIF
+public class GetNetworkUsage extends BIF {
+
+	/**
+	 * Constructor
+	 */
+	public GetNetworkUsage() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( false, Argument.STRING, KeyDictionary._interface )
+		};
+	}
+
+	/**
+	 * Get the throughput of a network interface from the module's background sampler, without blocking. The rates
+	 * are measured between the two latest samples.
+	 * <p>
+	 * The returned struct contains the <code>name</code>, <code>speed</code> (bits per second),
+	 * <code>bytesReceivedPerSecond</code>, <code>bytesSentPerSecond</code>, <code>packetsReceivedPerSecond</code>,
+	 * <code>packetsSentPerSecond</code>, and the <code>inErrors</code>, <code>outErrors</code>, <code>inDrops</code>
+	 * and <code>collisions</code> counters.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.interface The interface name, e.g. "eth0". If not passed, the usage of every interface is returned in a struct by name.
+	 *
+	 * @return The interface usage struct.
+	 */
+	public IStruct _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		NetworkSampler	sampler	= OshiService.getInstance().getNetworkSampler();
+		String			name	= arguments.getAsString( KeyDictionary._interface );
+		return name == null || name.isEmpty() ? sampler.getUsage() : sampler.getUsage( name );
+	}
+
+}
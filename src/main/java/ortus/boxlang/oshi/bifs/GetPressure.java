@@ -0,0 +1,65 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import java.util.Set;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.services.PressureSampler;
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.validation.Validator;
+
+@BoxBIF
+public class GetPressure extends BIF {
+
+	/**
+	 * Constructor
+	 */
+	public GetPressure() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( false, Argument.STRING, KeyDictionary.resource, "cpu", Set.of( Validator.valueOneOf( "cpu", "memory", "io" ) ) )
+		};
+	}
+
+	/**
+	 * Get's the Linux pressure stall information (PSI) of a resource from the module's background sampler: the
+	 * percentage of time that some or all non-idle tasks were stalled waiting for it. Unlike the CPU usage or the load
+	 * average, it measures the work lost to contention. Only available on Linux 4.20+ with PSI enabled.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.resource The resource: <code>cpu</code> (default), <code>memory</code> or <code>io</code>.
+	 *
+	 * @return A struct with the <code>some</code> and <code>full</code> stalls, each with the <code>avg10</code>,
+	 *         <code>avg60</code> and <code>avg300</code> percentages and the <code>total</code> stall time in
+	 *         microseconds. <code>full</code> is omitted for <code>cpu</code> on kernels older than 5.13.
+	 */
+	public IStruct _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		PressureSampler.Resource resource = PressureSampler.Resource.of( arguments.getAsString( KeyDictionary.resource ) );
+		return OshiService.getInstance().getPressureSampler().getPressure( resource );
+	}
+
+}
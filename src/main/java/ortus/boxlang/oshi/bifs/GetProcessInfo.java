@@ -0,0 +1,66 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.services.ProcessTracker;
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.IStruct;
+
+@BoxBIF
+public class GetProcessInfo extends BIF {
+
+	/**
+	 * Constructor
+	 */
+	public GetProcessInfo() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( false, Argument.NUMERIC, KeyDictionary.pid )
+		};
+	}
+
+	/**
+	 * Get the information of a process, by default the current JVM process. The process is looked up once and then
+	 * refreshed in place on every call, so the CPU usage is measured between two calls for the same process.
+	 * <p>
+	 * The returned struct contains the <code>pid</code>, <code>name</code>, <code>state</code>, <code>cpuUsage</code>
+	 * (the share of one processor used since the previous call, or since the process started on the first call),
+	 * <code>residentSetSize</code>, <code>virtualSize</code>, <code>threadCount</code>, <code>openFiles</code>,
+	 * <code>bytesRead</code>, <code>bytesWritten</code>, <code>upTime</code> and <code>startTime</code>.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.pid The process id. The default is the current JVM process.
+	 *
+	 * @return The process information struct.
+	 */
+	public IStruct _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		ProcessTracker	tracker	= OshiService.getInstance().getProcessTracker();
+		Object			pid		= arguments.get( KeyDictionary.pid );
+		return tracker.getProcessInfo( pid == null ? tracker.getCurrentProcessId() : IntegerCaster.cast( pid ) );
+	}
+
+}
@@ -0,0 +1,58 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import ortus.boxlang.oshi.util.AsyncProbes;
+import ortus.boxlang.runtime.async.BoxFuture;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.IStruct;
+
+@BoxBIF
+public class GetProcessInfoAsync extends BIF {
+
+	/**
+	 * The BIF that runs the probe
+	 */
+	private final GetProcessInfo delegate = new GetProcessInfo();
+
+	/**
+	 * Constructor
+	 */
+	public GetProcessInfoAsync() {
+		super();
+		declaredArguments = this.delegate.getDeclaredArguments();
+	}
+
+	/**
+	 * Get the information of a process like <code>getProcessInfo()</code>, on the module's async executor.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.pid The process id. The default is the current JVM process.
+	 *
+	 * @return A future of the <code>getProcessInfo()</code> result.
+	 */
+	public BoxFuture<IStruct> _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		return AsyncProbes.run( this.delegate, arguments );
+	}
+
+}
@@ -0,0 +1,48 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Array;
+
+@BoxBIF
+public class GetProcessorCpuUsage extends BIF {
+
+	/**
+	 * Get's the CPU usage of each logical processor from the module's background sampler. The values are returned
+	 * right away, the calling thread is never blocked. Use it to spot hot cores and pinned threads.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @return An array with the CPU usage between 0 and 1 of each logical processor.
+	 */
+	public Array _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		double[]	loads	= OshiService.getInstance().getCpuLoadSampler().getProcessorCpuLoads();
+		Array		result	= new Array( loads.length );
+		for ( double load : loads ) {
+			result.add( load );
+		}
+		return result;
+	}
+
+}
@@ -17,22 +17,46 @@
  */
 package ortus.boxlang.oshi.bifs;
 
+import java.util.Set;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.util.KeyDictionary;
 import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
-import oshi.SystemInfo;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.validation.Validator;
 
 @BoxBIF
 public class GetSystemFreeMemory extends BIF {
 
+	/**
+	 * Constructor
+	 */
+	public GetSystemFreeMemory() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( false, Argument.STRING, KeyDictionary.scope, "host", Set.of( Validator.valueOneOf( "host", "container" ) ) )
+		};
+	}
+
 	/**
 	 * Gets the total free memory of the operating system in bytes.
+	 * <p>
+	 * With <code>scope="container"</code> the memory available to the container is returned instead: its cgroup
+	 * memory limit minus its working set, capped by the free memory of the host.
 	 *
 	 * @param context   The context in which the BIF is being invoked.
 	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.scope <code>host</code> (default) for the operating system or <code>container</code> for the cgroup
+	 *                 the JVM runs in. Outside of a cgroup both return the host memory.
 	 */
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
-		return new SystemInfo().getHardware().getMemory().getAvailable();
+		if ( "container".equalsIgnoreCase( arguments.getAsString( KeyDictionary.scope ) ) ) {
+			return OshiService.getInstance().getContainerFreeMemory();
+		}
+		return OshiService.getInstance().getSystemFreeMemory();
 	}
 }
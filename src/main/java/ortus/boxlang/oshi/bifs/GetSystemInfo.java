@@ -17,25 +17,53 @@
  */
 package ortus.boxlang.oshi.bifs;
 
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.oshi.util.StructConverter;
 import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
-import oshi.SystemInfo;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.Array;
 
 @BoxBIF
 public class GetSystemInfo extends BIF {
 
+	/**
+	 * Constructor
+	 */
+	public GetSystemInfo() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( false, Argument.BOOLEAN, KeyDictionary.asStruct, false ),
+		    new Argument( false, Argument.ARRAY, KeyDictionary.fields )
+		};
+	}
+
 	/**
 	 * Retruns the OSHI system information class. You can use it to get any metric you want.
 	 *
+	 * Pass <code>asStruct=true</code> or a list of <code>fields</code> (<code>hardware</code>,
+	 * <code>operatingSystem</code>) to get a struct of the getter values instead, see <code>oshiToStruct()</code>.
+	 *
 	 * @see https://www.oshi.ooo/oshi-core-java11/apidocs/com.github.oshi/oshi/SystemInfo.html
 	 *
 	 * @param context   The context in which the BIF is being invoked.
 	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.asStruct If true, return a struct of the getter values instead of the OSHI object. The getters that
+	 *                    probe the system are skipped unless listed in <code>fields</code>.
+	 *
+	 * @argument.fields The names of the fields to read into the struct. Implies <code>asStruct</code>.
 	 */
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
-		return new SystemInfo();
+		Object	systemInfo	= OshiService.getInstance().getSystemInfo();
+		Array	fields		= arguments.getAsArray( KeyDictionary.fields );
+		if ( fields != null || arguments.getAsBoolean( KeyDictionary.asStruct ) ) {
+			return StructConverter.toStruct( systemInfo, fields );
+		}
+		return systemInfo;
 	}
 
 }
@@ -0,0 +1,99 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.services.SystemMetric;
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.dynamic.casters.StringCaster;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+@BoxBIF
+public class GetSystemSnapshot extends BIF {
+
+	/**
+	 * Constructor
+	 */
+	public GetSystemSnapshot() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( false, Argument.ARRAY, KeyDictionary.metrics ),
+		    new Argument( false, Argument.STRING, Key.path )
+		};
+	}
+
+	/**
+	 * Collects many system metrics in one call, using the module's shared OSHI instances, caches and samplers.
+	 * Only the requested metrics are read, so you can replace several calls to the individual BIFs with one.
+	 * <p>
+	 * Available metrics are:
+	 * - cpuUsage
+	 * - systemFreeMemory
+	 * - systemTotalMemory
+	 * - jvmFreeMemory
+	 * - jvmMaxMemory
+	 * - jvmTotalMemory
+	 * - totalSpace (requires a path)
+	 * - freeSpace (requires a path)
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.metrics The names of the metrics to collect. By default all the metrics are collected, and the space
+	 *                   metrics only if a path is passed.
+	 *
+	 * @argument.path The path to the volume or disk name for the space metrics.
+	 *
+	 * @return A struct of the metric values keyed by metric name.
+	 */
+	public IStruct _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		OshiService	oshi		= OshiService.getInstance();
+		Array		metrics		= arguments.getAsArray( KeyDictionary.metrics );
+		String		path		= arguments.getAsString( Key.path );
+		IStruct		snapshot	= new Struct( IStruct.TYPES.LINKED );
+
+		// Default to all the metrics we can read
+		if ( metrics == null || metrics.isEmpty() ) {
+			for ( SystemMetric metric : SystemMetric.values() ) {
+				if ( path != null || !metric.requiresPath() ) {
+					snapshot.put( metric.getKey(), metric.read( oshi, path ) );
+				}
+			}
+			return snapshot;
+		}
+
+		for ( Object name : metrics ) {
+			SystemMetric metric = SystemMetric.of( StringCaster.cast( name ) );
+			if ( metric.requiresPath() && path == null ) {
+				throw new BoxRuntimeException( "The metric [" + metric.getKey().getName() + "] requires a path argument" );
+			}
+			snapshot.put( metric.getKey(), metric.read( oshi, path ) );
+		}
+		return snapshot;
+	}
+
+}
@@ -17,22 +17,46 @@
  */
 package ortus.boxlang.oshi.bifs;
 
+import java.util.Set;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.util.KeyDictionary;
 import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
-import oshi.SystemInfo;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.validation.Validator;
 
 @BoxBIF
 public class GetSystemTotalMemory extends BIF {
 
+	/**
+	 * Constructor
+	 */
+	public GetSystemTotalMemory() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( false, Argument.STRING, KeyDictionary.scope, "host", Set.of( Validator.valueOneOf( "host", "container" ) ) )
+		};
+	}
+
 	/**
 	 * Gets the total memory of the operating system in bytes.
+	 * <p>
+	 * With <code>scope="container"</code> the cgroup memory limit of the container is returned instead, or the host
+	 * memory if the container has no limit.
 	 *
 	 * @param context   The context in which the BIF is being invoked.
 	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.scope <code>host</code> (default) for the operating system or <code>container</code> for the cgroup
+	 *                 the JVM runs in. Outside of a cgroup both return the host memory.
 	 */
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
-		return new SystemInfo().getHardware().getMemory().getTotal();
+		if ( "container".equalsIgnoreCase( arguments.getAsString( KeyDictionary.scope ) ) ) {
+			return OshiService.getInstance().getContainerTotalMemory();
+		}
+		return OshiService.getInstance().getSystemTotalMemory();
 	}
 }
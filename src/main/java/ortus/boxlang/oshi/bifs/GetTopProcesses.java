@@ -0,0 +1,73 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import java.util.Set;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.services.ProcessTracker;
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.validation.Validator;
+
+@BoxBIF
+public class GetTopProcesses extends BIF {
+
+	/**
+	 * Constructor
+	 */
+	public GetTopProcesses() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( false, Argument.STRING, KeyDictionary.by, "cpu", Set.of( Validator.valueOneOf( "cpu", "memory" ) ) ),
+		    new Argument( false, Argument.NUMERIC, KeyDictionary.limit, 10 )
+		};
+	}
+
+	/**
+	 * Get the processes using the most CPU or memory, without sorting the whole process list in BoxLang. Each row is
+	 * a struct like the ones returned by <code>getProcessInfo()</code>.
+	 * <p>
+	 * By CPU, the usage of each process is measured since the previous <code>getTopProcesses( "cpu" )</code> call
+	 * (or since the process started on the first call) and only the busiest rows are kept in a bounded heap. By
+	 * memory, OSHI sorts by resident set size and returns only the requested rows.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.by What to rank the processes by: "cpu" or "memory". The default is "cpu".
+	 *
+	 * @argument.limit The maximum number of processes to return. The default is 10.
+	 *
+	 * @return An array of process structs, busiest first.
+	 */
+	public Array _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		ProcessTracker	tracker	= OshiService.getInstance().getProcessTracker();
+		int				limit	= IntegerCaster.cast( arguments.get( KeyDictionary.limit ) );
+		return "memory".equalsIgnoreCase( arguments.getAsString( KeyDictionary.by ) )
+		    ? tracker.getTopProcessesByMemory( limit )
+		    : tracker.getTopProcessesByCpu( limit );
+	}
+
+}
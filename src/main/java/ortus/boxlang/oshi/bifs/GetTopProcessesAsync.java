@@ -0,0 +1,61 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import ortus.boxlang.oshi.util.AsyncProbes;
+import ortus.boxlang.runtime.async.BoxFuture;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Array;
+
+@BoxBIF
+public class GetTopProcessesAsync extends BIF {
+
+	/**
+	 * The BIF that runs the probe
+	 */
+	private final GetTopProcesses delegate = new GetTopProcesses();
+
+	/**
+	 * Constructor
+	 */
+	public GetTopProcessesAsync() {
+		super();
+		declaredArguments = this.delegate.getDeclaredArguments();
+	}
+
+	/**
+	 * Get the processes using the most CPU or memory like <code>getTopProcesses()</code>, on the module's async
+	 * executor, since listing the processes can be slow on busy hosts.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.by What to rank the processes by: "cpu" or "memory". The default is "cpu".
+	 *
+	 * @argument.limit The maximum number of processes to return. The default is 10.
+	 *
+	 * @return A future of the <code>getTopProcesses()</code> result.
+	 */
+	public BoxFuture<Array> _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		return AsyncProbes.run( this.delegate, arguments );
+	}
+
+}
@@ -0,0 +1,64 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.oshi.util.StructConverter;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.IStruct;
+
+@BoxBIF
+public class OshiToStruct extends BIF {
+
+	/**
+	 * Constructor
+	 */
+	public OshiToStruct() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( true, Argument.ANY, KeyDictionary.object ),
+		    new Argument( false, Argument.ARRAY, KeyDictionary.fields )
+		};
+	}
+
+	/**
+	 * Convert any OSHI object (e.g. <code>getHardware().getProcessor()</code>) into a struct of its getter values,
+	 * ready to be serialized. The getters of each class are resolved once and cached, and only the requested fields
+	 * are read. Without <code>fields</code>, the getters that probe the system (USB devices, sensors, displays,
+	 * processes, services, disks, network interfaces, etc.) and the environment variables and command line of
+	 * processes are skipped. Nested OSHI objects are converted the same way.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.object The OSHI object to convert.
+	 *
+	 * @argument.fields The names of the fields to read, e.g. <code>[ "memory", "sensors" ]</code>. By default every
+	 *                  field except the skipped ones is read.
+	 *
+	 * @return The struct of the object fields.
+	 */
+	public IStruct _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		return StructConverter.toStruct( arguments.get( KeyDictionary.object ), arguments.getAsArray( KeyDictionary.fields ) );
+	}
+
+}
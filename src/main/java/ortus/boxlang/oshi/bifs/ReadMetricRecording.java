@@ -0,0 +1,96 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+import ortus.boxlang.oshi.services.MetricRecorder;
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.dynamic.casters.LongCaster;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.DateTime;
+import ortus.boxlang.runtime.validation.Validator;
+
+@BoxBIF
+public class ReadMetricRecording extends BIF {
+
+	/**
+	 * Constructor
+	 */
+	public ReadMetricRecording() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( true, Argument.STRING, KeyDictionary.file, Set.of( Validator.NON_EMPTY ) ),
+		    new Argument( false, Argument.ANY, KeyDictionary.from, 0 ),
+		    new Argument( false, Argument.ANY, KeyDictionary.to )
+		};
+	}
+
+	/**
+	 * Read the records of a metric recording written by the module when the <code>recording.enabled</code> setting is
+	 * on. The recording survives a JVM crash, so it can be read after a restart or from another server.
+	 * <p>
+	 * Recorded metrics are: cpuUsage, systemFreeMemory, systemTotalMemory, jvmFreeMemory, jvmMaxMemory, jvmTotalMemory,
+	 * and totalSpace and freeSpace if the <code>recording.path</code> setting is defined.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.file A segment file, or a recording directory to read all its segments oldest first. Relative paths
+	 *                are resolved against the <code>recording.directory</code> setting when the recording is enabled.
+	 *
+	 * @argument.from Only return the records taken at or after this date or epoch millisecond.
+	 *
+	 * @argument.to Only return the records taken at or before this date or epoch millisecond.
+	 *
+	 * @return An array of structs with the <code>timestamp</code> in epoch milliseconds and the value of each metric,
+	 *         oldest first.
+	 */
+	public Array _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		MetricRecorder	recorder	= OshiService.getInstance().getMetricRecorder();
+		Path			file		= Path.of( arguments.getAsString( KeyDictionary.file ) );
+		if ( !file.isAbsolute() && recorder != null ) {
+			file = recorder.getDirectory().resolve( file );
+		}
+		return MetricRecorder.read( file, toEpochMillis( arguments.get( KeyDictionary.from ), 0L ),
+		    toEpochMillis( arguments.get( KeyDictionary.to ), Long.MAX_VALUE ) );
+	}
+
+	/**
+	 * Convert a date or epoch millisecond argument
+	 *
+	 * @param value        The argument value
+	 * @param defaultValue The value if the argument is not passed
+	 *
+	 * @return The epoch millisecond
+	 */
+	private static long toEpochMillis( Object value, long defaultValue ) {
+		if ( value == null ) {
+			return defaultValue;
+		}
+		return value instanceof DateTime date ? date.toEpochMillis() : LongCaster.cast( value );
+	}
+
+}
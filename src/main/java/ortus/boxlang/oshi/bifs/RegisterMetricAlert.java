@@ -0,0 +1,91 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import java.util.Set;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.dynamic.casters.DoubleCaster;
+import ortus.boxlang.runtime.dynamic.casters.LongCaster;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.validation.Validator;
+
+@BoxBIF
+public class RegisterMetricAlert extends BIF {
+
+	/**
+	 * Constructor
+	 */
+	public RegisterMetricAlert() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( true, Argument.STRING, Key._NAME, Set.of( Validator.NON_EMPTY ) ),
+		    new Argument( true, Argument.STRING, KeyDictionary.metric, Set.of( Validator.NON_EMPTY ) ),
+		    new Argument( true, Argument.NUMERIC, KeyDictionary.threshold ),
+		    new Argument( false, Argument.STRING, KeyDictionary.operator, "gt", Set.of( Validator.valueOneOf( "gt", "lt" ) ) ),
+		    new Argument( false, Argument.NUMERIC, KeyDictionary.duration, 0 ),
+		    new Argument( false, Argument.STRING, Key.path )
+		};
+	}
+
+	/**
+	 * Register an alert evaluated by the module's background sampler. When the metric stays past the threshold for the
+	 * given duration, the <code>onSystemMetricThreshold</code> interceptor event is announced once, and
+	 * <code>onSystemMetricRecovery</code> is announced when it comes back. The event data contains the alert
+	 * definition, the current <code>value</code> and a <code>timestamp</code>.
+	 * <p>
+	 * Registering an alert with an existing name replaces it.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.name The unique name of the alert.
+	 *
+	 * @argument.metric The metric to watch, any metric of <code>getSystemSnapshot()</code>, e.g. "cpuUsage" or "systemFreeMemory".
+	 *
+	 * @argument.threshold The threshold in the unit of the metric: a ratio between 0 and 1 for the CPU usage, bytes for memory and space.
+	 *
+	 * @argument.operator "gt" to fire above the threshold or "lt" to fire below it. The default is "gt".
+	 *
+	 * @argument.duration How long in milliseconds the metric must stay past the threshold before firing. The default is 0.
+	 *
+	 * @argument.path The volume path, required by the "totalSpace" and "freeSpace" metrics.
+	 *
+	 * @return The registered alert.
+	 */
+	public IStruct _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		return OshiService.getInstance()
+		    .getMetricWatchdog()
+		    .register(
+		        arguments.getAsString( Key._NAME ),
+		        arguments.getAsString( KeyDictionary.metric ),
+		        arguments.getAsString( KeyDictionary.operator ),
+		        DoubleCaster.cast( arguments.get( KeyDictionary.threshold ) ),
+		        LongCaster.cast( arguments.get( KeyDictionary.duration ) ),
+		        arguments.getAsString( Key.path )
+		    );
+	}
+
+}
@@ -0,0 +1,60 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.bifs;
+
+import java.util.Set;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.validation.Validator;
+
+@BoxBIF
+public class UnregisterMetricAlert extends BIF {
+
+	/**
+	 * Constructor
+	 */
+	public UnregisterMetricAlert() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( true, Argument.STRING, Key._NAME, Set.of( Validator.NON_EMPTY ) )
+		};
+	}
+
+	/**
+	 * Remove an alert registered with <code>registerMetricAlert()</code> or the <code>alerts</code> module setting,
+	 * so the module's background sampler stops evaluating it. Unregister the alerts you register per request or per
+	 * tenant once they are no longer needed.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.name The name of the alert.
+	 *
+	 * @return True if the alert was registered, false otherwise.
+	 */
+	public Boolean _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		return OshiService.getInstance().getMetricWatchdog().unregister( arguments.getAsString( Key._NAME ) );
+	}
+
+}
@@ -0,0 +1,381 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.oshi.util.ProcFile;
+import oshi.PlatformEnum;
+import oshi.SystemInfo;
+
+/**
+ * Reads the memory and CPU limits and usage of the cgroup the JVM runs in, so the container metrics reflect the
+ * pod or container limits instead of the host. Both cgroup v2 (<code>memory.max</code>, <code>memory.current</code>,
+ * <code>cpu.max</code>, <code>cpu.stat</code>) and v1 (<code>memory.limit_in_bytes</code>,
+ * <code>memory.usage_in_bytes</code>, <code>cpu.cfs_quota_us</code>, <code>cpuacct.usage</code>) are supported.
+ * <p>
+ * The files are read through {@link ProcFile}s, with open channels and reusable buffers, so a read costs the same
+ * as the host fast path. The container CPU load is sampled on the module sampler cadence like the host load: the
+ * CPU time used by the cgroup over the elapsed time, relative to its CPU quota or the host processors.
+ */
+public class CgroupReader implements Runnable {
+
+	/**
+	 * The cgroup file system mount
+	 */
+	private static final Path		ROOT			= Path.of( "/sys/fs/cgroup" );
+
+	/**
+	 * cgroup v1 reports a page aligned <code>Long.MAX_VALUE</code> when there is no memory limit
+	 */
+	private static final long		V1_UNLIMITED	= Long.MAX_VALUE / 2;
+
+	/**
+	 * The tokens and line labels to look for
+	 */
+	private static final byte[]		MAX				= ProcFile.label( "max" );
+	private static final byte[]		NEGATIVE		= ProcFile.label( "-" );
+	private static final byte[]		USAGE_USEC		= ProcFile.label( "usage_usec" );
+	private static final byte[]		INACTIVE_FILE	= ProcFile.label( "inactive_file" );
+	private static final byte[]		V1_INACTIVE		= ProcFile.label( "total_inactive_file" );
+
+	/**
+	 * Logger
+	 */
+	private static final Logger		logger			= LoggerFactory.getLogger( CgroupReader.class );
+
+	/**
+	 * Whether the cgroup is a v2 unified hierarchy
+	 */
+	private final boolean			v2;
+
+	/**
+	 * The memory files: the limit, the usage and the statistics
+	 */
+	private final ProcFile			memoryLimit;
+	private final ProcFile			memoryUsage;
+	private final ProcFile			memoryStat;
+
+	/**
+	 * The CPU files: the quota (and the period on v1, null on v2 where they share <code>cpu.max</code>) and the
+	 * cumulative usage
+	 */
+	private final ProcFile			cpuQuota;
+	private final ProcFile			cpuPeriod;
+	private final ProcFile			cpuUsage;
+
+	/**
+	 * The logical processors of the host, the CPU capacity of a cgroup without a quota
+	 */
+	private final int				hostProcessors;
+
+	/**
+	 * The cumulative CPU time in nanoseconds and the nano time of the previous sample
+	 */
+	private long					previousUsage;
+	private long					previousTime;
+
+	/**
+	 * The container CPU load computed on the last sample, or -1 if no sample has been taken yet
+	 */
+	private volatile double			cpuLoad			= -1d;
+
+	/**
+	 * Constructor
+	 *
+	 * @param v2             Whether the cgroup is a v2 unified hierarchy
+	 * @param paths          The cgroup directory of each controller
+	 * @param hostProcessors The logical processors of the host
+	 */
+	private CgroupReader( boolean v2, Map<String, Path> paths, int hostProcessors ) {
+		this.v2				= v2;
+		this.hostProcessors	= hostProcessors;
+		if ( v2 ) {
+			Path cgroup = paths.get( "" );
+			this.memoryLimit	= new ProcFile( cgroup.resolve( "memory.max" ), 64 );
+			this.memoryUsage	= new ProcFile( cgroup.resolve( "memory.current" ), 64 );
+			this.memoryStat		= new ProcFile( cgroup.resolve( "memory.stat" ), 4096 );
+			this.cpuQuota		= new ProcFile( cgroup.resolve( "cpu.max" ), 64 );
+			this.cpuPeriod		= null;
+			this.cpuUsage		= new ProcFile( cgroup.resolve( "cpu.stat" ), 256 );
+		} else {
+			Path	memory	= paths.get( "memory" );
+			Path	cpu		= paths.get( "cpu" );
+			this.memoryLimit	= new ProcFile( memory.resolve( "memory.limit_in_bytes" ), 64 );
+			this.memoryUsage	= new ProcFile( memory.resolve( "memory.usage_in_bytes" ), 64 );
+			this.memoryStat		= new ProcFile( memory.resolve( "memory.stat" ), 4096 );
+			this.cpuQuota		= new ProcFile( cpu.resolve( "cpu.cfs_quota_us" ), 64 );
+			this.cpuPeriod		= new ProcFile( cpu.resolve( "cpu.cfs_period_us" ), 64 );
+			this.cpuUsage		= new ProcFile( paths.get( "cpuacct" ).resolve( "cpuacct.usage" ), 64 );
+		}
+		this.previousUsage	= getCpuUsageNanos();
+		this.previousTime	= System.nanoTime();
+	}
+
+	/**
+	 * Create the reader for the cgroup of the current process
+	 *
+	 * @param hostProcessors The logical processors of the host
+	 *
+	 * @return The reader, or null if not on Linux or the cgroup files can't be read
+	 */
+	public static CgroupReader create( int hostProcessors ) {
+		if ( SystemInfo.getCurrentPlatform() != PlatformEnum.LINUX || !Files.isDirectory( ROOT ) ) {
+			return null;
+		}
+		try {
+			boolean				v2		= Files.exists( ROOT.resolve( "cgroup.controllers" ) );
+			Map<String, Path>	paths	= resolvePaths( v2, Files.readAllLines( Path.of( "/proc/self/cgroup" ) ) );
+			if ( v2 ? !paths.containsKey( "" ) : !paths.keySet().containsAll( List.of( "memory", "cpu", "cpuacct" ) ) ) {
+				return null;
+			}
+			CgroupReader reader = new CgroupReader( v2, paths, hostProcessors );
+			if ( reader.getMemoryUsage() < 0 || reader.getCpuUsageNanos() < 0 ) {
+				reader.close();
+				return null;
+			}
+			return reader;
+		} catch ( IOException e ) {
+			logger.debug( "Unable to read the cgroup of the process, the container metrics report the host", e );
+			return null;
+		}
+	}
+
+	/**
+	 * Resolve the cgroup directory of each controller from the lines of <code>/proc/self/cgroup</code>, e.g.
+	 * <code>0::/kubepods/pod1</code> on v2 or <code>4:memory:/kubepods/pod1</code> on v1. With a cgroup namespace the
+	 * path is <code>/</code> and the cgroup is the mount itself, so a path that is not visible falls back to it.
+	 *
+	 * @param v2    Whether the cgroup is a v2 unified hierarchy
+	 * @param lines The lines of <code>/proc/self/cgroup</code>
+	 *
+	 * @return The directories by controller name, the v2 directory under the empty name
+	 */
+	private static Map<String, Path> resolvePaths( boolean v2, List<String> lines ) {
+		Map<String, Path> paths = new HashMap<>();
+		for ( String line : lines ) {
+			String[] parts = line.split( ":", 3 );
+			if ( parts.length < 3 || v2 != parts[ 1 ].isEmpty() ) {
+				continue;
+			}
+			String relative = parts[ 2 ].startsWith( "/" ) ? parts[ 2 ].substring( 1 ) : parts[ 2 ];
+			for ( String controller : parts[ 1 ].split( "," ) ) {
+				Path	mount	= v2 ? ROOT : ROOT.resolve( controller );
+				Path	cgroup	= mount.resolve( relative );
+				if ( Files.isDirectory( mount ) ) {
+					paths.put( controller, Files.isDirectory( cgroup ) ? cgroup : mount );
+				}
+			}
+		}
+		return paths;
+	}
+
+	/**
+	 * Whether the cgroup is a v2 unified hierarchy
+	 *
+	 * @return True on cgroup v2, false on v1
+	 */
+	public boolean isV2() {
+		return this.v2;
+	}
+
+	/**
+	 * Get the memory limit of the cgroup
+	 *
+	 * @return The limit in bytes, or -1 if the cgroup has no limit
+	 */
+	public synchronized long getMemoryLimit() {
+		ByteBuffer buffer = read( this.memoryLimit );
+		if ( buffer == null || ProcFile.startsWith( buffer, MAX ) ) {
+			return -1L;
+		}
+		long limit = ProcFile.nextLong( buffer );
+		return limit >= V1_UNLIMITED ? -1L : limit;
+	}
+
+	/**
+	 * Get the working set of the cgroup: the memory usage minus the inactive page cache the kernel reclaims first,
+	 * which is what the container runtimes compare with the limit.
+	 *
+	 * @return The working set in bytes, or -1 if it can't be read
+	 */
+	public synchronized long getMemoryUsage() {
+		ByteBuffer buffer = read( this.memoryUsage );
+		if ( buffer == null ) {
+			return -1L;
+		}
+		long usage = ProcFile.nextLong( buffer );
+		if ( usage < 0 ) {
+			return -1L;
+		}
+		buffer = read( this.memoryStat );
+		if ( buffer != null && ProcFile.seekLine( buffer, this.v2 ? INACTIVE_FILE : V1_INACTIVE ) ) {
+			long inactive = ProcFile.nextLong( buffer );
+			if ( inactive > 0 && inactive < usage ) {
+				usage -= inactive;
+			}
+		}
+		return usage;
+	}
+
+	/**
+	 * Get the CPU capacity of the cgroup
+	 *
+	 * @return The number of CPUs the quota allows, or the host logical processors if the cgroup has no quota
+	 */
+	public synchronized double getCpuLimit() {
+		ByteBuffer buffer = read( this.cpuQuota );
+		if ( buffer == null || ProcFile.startsWith( buffer, MAX ) || ProcFile.startsWith( buffer, NEGATIVE ) ) {
+			return this.hostProcessors;
+		}
+		long quota = ProcFile.nextLong( buffer );
+		// The period follows the quota in cpu.max, it has its own file on v1
+		if ( this.cpuPeriod != null ) {
+			buffer = read( this.cpuPeriod );
+		}
+		long period = buffer == null ? -1L : ProcFile.nextLong( buffer );
+		if ( quota <= 0 || period <= 0 ) {
+			return this.hostProcessors;
+		}
+		return Math.min( ( double ) quota / period, this.hostProcessors );
+	}
+
+	/**
+	 * Get the cumulative CPU time used by the cgroup
+	 *
+	 * @return The CPU time in nanoseconds, or -1 if it can't be read
+	 */
+	public synchronized long getCpuUsageNanos() {
+		ByteBuffer buffer = read( this.cpuUsage );
+		if ( buffer == null ) {
+			return -1L;
+		}
+		if ( this.v2 ) {
+			if ( !ProcFile.seekLine( buffer, USAGE_USEC ) ) {
+				return -1L;
+			}
+			long micros = ProcFile.nextLong( buffer );
+			return micros < 0 ? -1L : micros * 1000L;
+		}
+		return ProcFile.nextLong( buffer );
+	}
+
+	/**
+	 * Take a sample of the cgroup CPU time and compute the load since the previous sample.
+	 */
+	@Override
+	public void run() {
+		long	usage	= getCpuUsageNanos();
+		long	now		= System.nanoTime();
+		if ( usage < 0 ) {
+			return;
+		}
+		this.cpuLoad		= computeLoad( usage - this.previousUsage, now - this.previousTime );
+		this.previousUsage	= usage;
+		this.previousTime	= now;
+	}
+
+	/**
+	 * Get the latest container CPU load. If the sampler has not run yet, the load since the reader was created is
+	 * computed instead, which never blocks.
+	 *
+	 * @return The CPU load between 0 and 1, relative to the CPU capacity of the cgroup
+	 */
+	public double getCpuLoad() {
+		double load = this.cpuLoad;
+		if ( load < 0 ) {
+			long usage = getCpuUsageNanos();
+			return usage < 0 ? 0d : computeLoad( usage - this.previousUsage, System.nanoTime() - this.previousTime );
+		}
+		return load;
+	}
+
+	/**
+	 * Measure the container CPU load by blocking the calling thread for the given interval.
+	 *
+	 * @param delay The interval in milliseconds
+	 *
+	 * @return The CPU load between 0 and 1, relative to the CPU capacity of the cgroup
+	 */
+	public double measureCpuLoad( long delay ) {
+		long	usage	= getCpuUsageNanos();
+		long	start	= System.nanoTime();
+		try {
+			Thread.sleep( delay );
+		} catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+		}
+		long end = getCpuUsageNanos();
+		return usage < 0 || end < 0 ? 0d : computeLoad( end - usage, System.nanoTime() - start );
+	}
+
+	/**
+	 * Close the open files
+	 */
+	public synchronized void close() {
+		this.memoryLimit.close();
+		this.memoryUsage.close();
+		this.memoryStat.close();
+		this.cpuQuota.close();
+		if ( this.cpuPeriod != null ) {
+			this.cpuPeriod.close();
+		}
+		this.cpuUsage.close();
+	}
+
+	/**
+	 * Compute the load of a CPU time over an elapsed time, relative to the CPU capacity of the cgroup
+	 *
+	 * @param usage   The CPU time used in nanoseconds
+	 * @param elapsed The elapsed time in nanoseconds
+	 *
+	 * @return The CPU load between 0 and 1
+	 */
+	private double computeLoad( long usage, long elapsed ) {
+		if ( usage <= 0 || elapsed <= 0 ) {
+			return 0d;
+		}
+		return Math.min( usage / ( elapsed * getCpuLimit() ), 1d );
+	}
+
+	/**
+	 * Read a file, logging the failure
+	 *
+	 * @param file The file
+	 *
+	 * @return The buffer, or null if the file can't be read
+	 */
+	private ByteBuffer read( ProcFile file ) {
+		try {
+			return file.read();
+		} catch ( IOException e ) {
+			logger.debug( "Unable to read [{}]", file.getPath(), e );
+			return null;
+		}
+	}
+
+}
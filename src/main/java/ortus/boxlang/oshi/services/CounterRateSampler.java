@@ -0,0 +1,311 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * Samples the cumulative counters of a kind of OSHI device (network interfaces, disks) on the module sampler cadence
+ * so their rates can be read without each caller diffing the counters.
+ * <p>
+ * Each sample refreshes the devices and computes the rates against the counters of the previous sample, kept in
+ * primitive arrays indexed by device. Only the sampler thread writes the rates, which are computed into two reusable
+ * <code>double[]</code> buffers that are swapped on every sample.
+ * <p>
+ * The devices are listed once and listed again when a lookup misses (e.g. a new device), at most once per second.
+ * The counters and rates of the devices that are still there are carried over by name, so listing again does not
+ * reset their rates.
+ * <p>
+ * Subclasses only provide the OSHI accessors of their device type.
+ *
+ * @param <D> The OSHI device type
+ */
+public abstract class CounterRateSampler<D> implements Runnable {
+
+	/**
+	 * The minimum time between two listings triggered by a lookup miss
+	 */
+	private static final long			MIN_RELIST_ON_MISS_NANOS	= TimeUnit.SECONDS.toNanos( 1 );
+
+	/**
+	 * The number of counters sampled per device
+	 */
+	private final int					counterCount;
+
+	/**
+	 * The device kind, for the error messages
+	 */
+	private final String				deviceKind;
+
+	/**
+	 * Lists the devices from OSHI
+	 */
+	private final Supplier<List<D>>		lister;
+
+	/**
+	 * The current devices and their sampling state, replaced as a whole when the devices are listed again
+	 */
+	private volatile Devices<D>			devices;
+
+	/**
+	 * The nano time of the last listing
+	 */
+	private volatile long				lastListing;
+
+	/**
+	 * The sampled devices with their previous counters and latest rates
+	 */
+	private static final class Devices<D> {
+
+		private final List<D>				list;
+		private final Map<String, Integer>	indexes;
+		private final long[]				previousCounters;
+		private final long[]				previousTimes;
+		private volatile double[]			rates;
+		private double[]					nextRates;
+
+		Devices( List<D> list, int counterCount ) {
+			this.list				= list;
+			this.indexes			= new HashMap<>();
+			this.previousCounters	= new long[ list.size() * counterCount ];
+			this.previousTimes		= new long[ list.size() ];
+			this.rates				= new double[ list.size() * counterCount ];
+			this.nextRates			= new double[ list.size() * counterCount ];
+		}
+	}
+
+	/**
+	 * Constructor, lists the devices and starts sampling them
+	 *
+	 * @param counterCount The number of counters sampled per device
+	 * @param deviceKind   The device kind, e.g. <code>Disk</code>, for the error messages
+	 * @param lister       Lists the devices from OSHI
+	 */
+	protected CounterRateSampler( int counterCount, String deviceKind, Supplier<List<D>> lister ) {
+		this.counterCount	= counterCount;
+		this.deviceKind		= deviceKind;
+		this.lister			= lister;
+		list();
+	}
+
+	/**
+	 * Get the name of a device, which identifies it across listings
+	 *
+	 * @param device The device
+	 *
+	 * @return The name
+	 */
+	protected abstract String getName( D device );
+
+	/**
+	 * Refresh the counters of a device
+	 *
+	 * @param device The device
+	 *
+	 * @return False if the device went away
+	 */
+	protected abstract boolean update( D device );
+
+	/**
+	 * Get the epoch millisecond the counters of a device were read at
+	 *
+	 * @param device The device
+	 *
+	 * @return The timestamp
+	 */
+	protected abstract long getTimeStamp( D device );
+
+	/**
+	 * Read one sampled counter of a device
+	 *
+	 * @param device  The device
+	 * @param counter The counter index
+	 *
+	 * @return The counter value
+	 */
+	protected abstract long readCounter( D device, int counter );
+
+	/**
+	 * Build the struct of a device
+	 *
+	 * @param device The device
+	 * @param rates  The published rates
+	 * @param offset The offset of the device in the rates
+	 *
+	 * @return The struct
+	 */
+	protected abstract IStruct toStruct( D device, double[] rates, int offset );
+
+	/**
+	 * Compute the rate of a counter from its positive delta, per second by default
+	 *
+	 * @param counter The counter index
+	 * @param delta   The counter increase, greater than 0
+	 * @param elapsed The elapsed milliseconds, greater than 0
+	 *
+	 * @return The rate
+	 */
+	protected double computeRate( int counter, long delta, long elapsed ) {
+		return delta * 1000d / elapsed;
+	}
+
+	/**
+	 * Refresh the devices and compute the rates since the previous sample.
+	 */
+	@Override
+	public synchronized void run() {
+		Devices<D>	current		= this.devices;
+		long[]		counters	= current.previousCounters;
+		double[]	rates		= current.nextRates;
+
+		for ( int i = 0; i < current.list.size(); i++ ) {
+			D	device	= current.list.get( i );
+			int	offset	= i * this.counterCount;
+			if ( !update( device ) ) {
+				// The device went away, report no activity until it is listed again
+				for ( int c = 0; c < this.counterCount; c++ ) {
+					rates[ offset + c ] = 0d;
+				}
+				continue;
+			}
+			long	time	= getTimeStamp( device );
+			long	elapsed	= time - current.previousTimes[ i ];
+			for ( int c = 0; c < this.counterCount; c++ ) {
+				long previous = counters[ offset + c ];
+				counters[ offset + c ] = readCounter( device, c );
+				// Counters can wrap or reset, never report a negative rate
+				long delta = counters[ offset + c ] - previous;
+				rates[ offset + c ] = elapsed > 0 && delta > 0 ? computeRate( c, delta, elapsed ) : 0d;
+			}
+			current.previousTimes[ i ] = time;
+		}
+
+		// Publish the rates and reuse the previously published buffer for the next sample
+		current.nextRates	= current.rates;
+		current.rates		= rates;
+	}
+
+	/**
+	 * Get the names of the sampled devices
+	 *
+	 * @return The device names
+	 */
+	protected Set<String> getDeviceNames() {
+		return Collections.unmodifiableSet( this.devices.indexes.keySet() );
+	}
+
+	/**
+	 * Get the struct of a device. The rates are 0 until the sampler ran twice for the device.
+	 *
+	 * @param name The device name
+	 *
+	 * @return The device struct
+	 *
+	 * @throws BoxRuntimeException If the device is not found
+	 */
+	protected IStruct getDevice( String name ) {
+		for ( int attempt = 0; attempt < 2; attempt++ ) {
+			Devices<D>	current	= this.devices;
+			Integer		index	= current.indexes.get( name );
+			if ( index != null ) {
+				return toStruct( current.list.get( index ), current.rates, index * this.counterCount );
+			}
+			if ( !listOnMiss() ) {
+				break;
+			}
+		}
+		throw new BoxRuntimeException( this.deviceKind + " not found: " + name );
+	}
+
+	/**
+	 * Get the structs of all the devices
+	 *
+	 * @return A struct of device structs by name
+	 */
+	protected IStruct getDevices() {
+		Devices<D>	current	= this.devices;
+		double[]	rates	= current.rates;
+		IStruct		result	= new Struct( IStruct.TYPES.LINKED );
+		for ( int i = 0; i < current.list.size(); i++ ) {
+			D device = current.list.get( i );
+			result.put( Key.of( getName( device ) ), toStruct( device, rates, i * this.counterCount ) );
+		}
+		return result;
+	}
+
+	/**
+	 * List the devices, carrying over the counters and rates of the ones already sampled and starting the new ones
+	 * from their current counters
+	 */
+	private synchronized void list() {
+		Devices<D>	previous	= this.devices;
+		Devices<D>	next		= new Devices<>( this.lister.get(), this.counterCount );
+		double[]	rates		= previous == null ? null : previous.rates;
+		for ( int i = 0; i < next.list.size(); i++ ) {
+			D		device	= next.list.get( i );
+			String	name	= getName( device );
+			// Only the first device of a name can be looked up and carried over
+			boolean	first	= next.indexes.putIfAbsent( name, i ) == null;
+			int		offset	= i * this.counterCount;
+			Integer	known	= first && previous != null ? previous.indexes.get( name ) : null;
+			if ( known != null ) {
+				int knownOffset = known * this.counterCount;
+				System.arraycopy( previous.previousCounters, knownOffset, next.previousCounters, offset, this.counterCount );
+				System.arraycopy( rates, knownOffset, next.rates, offset, this.counterCount );
+				next.previousTimes[ i ] = previous.previousTimes[ known ];
+			} else {
+				for ( int c = 0; c < this.counterCount; c++ ) {
+					next.previousCounters[ offset + c ] = readCounter( device, c );
+				}
+				next.previousTimes[ i ] = getTimeStamp( device );
+			}
+		}
+		this.devices		= next;
+		this.lastListing	= System.nanoTime();
+	}
+
+	/**
+	 * List the devices again after a lookup miss, in case the device appeared after the last listing.
+	 *
+	 * @return True if the devices were listed again and the lookup should be retried
+	 */
+	private boolean listOnMiss() {
+		if ( System.nanoTime() - this.lastListing < MIN_RELIST_ON_MISS_NANOS ) {
+			return false;
+		}
+		synchronized ( this ) {
+			// Another caller may have listed them while we waited
+			if ( System.nanoTime() - this.lastListing >= MIN_RELIST_ON_MISS_NANOS ) {
+				list();
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,217 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.CentralProcessor.TickType;
+
+/**
+ * Samples the system and per-processor CPU load ticks on the module sampler cadence so the CPU load can be read
+ * without sleeping the calling thread.
+ * <p>
+ * Each tick stores the latest ticks and the load computed against the previous ones. Only the sampler thread
+ * writes, readers just read the last published value: every field a reader touches is volatile, and the load is
+ * published before the ticks buffers are swapped, so readers only use the previous ticks before the first sample.
+ * The per-processor loads are computed into two reusable <code>double[]</code> buffers that are swapped on every
+ * sample, so sampling does not allocate beyond the ticks OSHI returns.
+ * <p>
+ * On Linux the system ticks are read from <code>/proc/stat</code> by the {@link LinuxProcReader} into two swapped
+ * <code>long[]</code> buffers instead, so the system load is sampled without allocating at all.
+ */
+public class CpuLoadSampler implements Runnable {
+
+	/**
+	 * The processor to sample
+	 */
+	private final CentralProcessor		processor;
+
+	/**
+	 * The <code>/proc</code> reader of the system ticks, null to read them from OSHI
+	 */
+	private volatile LinuxProcReader	procReader;
+
+	/**
+	 * The ticks of the previous sample, published to the readers that compute the load before the first sample
+	 */
+	private volatile long[]				previousTicks;
+
+	/**
+	 * The buffer the next <code>/proc</code> ticks are read into
+	 */
+	private long[]						nextTicks;
+
+	/**
+	 * The system CPU load computed on the last sample, or -1 if no sample has been taken yet
+	 */
+	private volatile double				systemCpuLoad	= -1d;
+
+	/**
+	 * The per-processor ticks of the previous sample, published to the readers that compute the loads before the
+	 * first sample
+	 */
+	private volatile long[][]			previousProcessorTicks;
+
+	/**
+	 * The per-processor loads of the last sample, or null if no sample has been taken yet
+	 */
+	private volatile double[]			processorCpuLoads;
+
+	/**
+	 * The buffer the next per-processor loads are computed into
+	 */
+	private double[]					nextProcessorCpuLoads;
+
+	/**
+	 * Constructor
+	 *
+	 * @param processor  The processor to sample
+	 * @param procReader The <code>/proc</code> reader of the system ticks, or null to read them from OSHI
+	 */
+	public CpuLoadSampler( CentralProcessor processor, LinuxProcReader procReader ) {
+		this.processor				= processor;
+		this.procReader				= procReader;
+		this.nextTicks				= new long[ TickType.values().length ];
+		this.previousTicks			= readSystemTicks( new long[ TickType.values().length ] );
+		this.previousProcessorTicks	= processor.getProcessorCpuLoadTicks();
+		this.nextProcessorCpuLoads	= new double[ this.previousProcessorTicks.length ];
+	}
+
+	/**
+	 * Take a sample of the system and per-processor CPU load ticks and compute the loads since the previous sample.
+	 */
+	@Override
+	public void run() {
+		sampleSystemTicks();
+
+		long[][]	processorTicks	= this.processor.getProcessorCpuLoadTicks();
+		long[][]	previous		= this.previousProcessorTicks;
+		double[]	loads			= this.nextProcessorCpuLoads;
+		// Logical processors can be brought online or offline, start over if the count changed
+		if ( processorTicks.length != previous.length ) {
+			this.previousProcessorTicks	= processorTicks;
+			this.nextProcessorCpuLoads	= new double[ processorTicks.length ];
+			return;
+		}
+		for ( int cpu = 0; cpu < processorTicks.length; cpu++ ) {
+			loads[ cpu ] = computeLoad( previous[ cpu ], processorTicks[ cpu ] );
+		}
+		this.previousProcessorTicks = processorTicks;
+
+		// Publish the loads and reuse the previously published buffer for the next sample
+		double[] published = this.processorCpuLoads;
+		this.processorCpuLoads		= loads;
+		this.nextProcessorCpuLoads	= published != null && published.length == loads.length ? published : new double[ loads.length ];
+	}
+
+	/**
+	 * Get the latest system CPU load. If the sampler has not run yet, the load since the sampler was
+	 * created is computed instead, which never blocks.
+	 *
+	 * @return The system CPU load between 0 and 1
+	 */
+	public double getSystemCpuLoad() {
+		double load = this.systemCpuLoad;
+		if ( load < 0 ) {
+			long[]			previous	= this.previousTicks;
+			LinuxProcReader	reader		= this.procReader;
+			if ( reader == null ) {
+				return this.processor.getSystemCpuLoadBetweenTicks( previous );
+			}
+			long[] ticks = new long[ previous.length ];
+			return reader.readCpuTicks( ticks ) ? computeLoad( previous, ticks ) : 0d;
+		}
+		return load;
+	}
+
+	/**
+	 * Get the latest per-processor CPU loads. If the sampler has not run yet, the loads since the sampler was
+	 * created are computed instead, which never blocks.
+	 * <p>
+	 * The returned array is shared with the sampler: copy the values out right away and do not modify it.
+	 *
+	 * @return The CPU load between 0 and 1 of each logical processor
+	 */
+	public double[] getProcessorCpuLoads() {
+		double[] loads = this.processorCpuLoads;
+		if ( loads == null ) {
+			return this.processor.getProcessorCpuLoadBetweenTicks( this.previousProcessorTicks );
+		}
+		return loads;
+	}
+
+	/**
+	 * Sample the system ticks and compute the system load since the previous sample.
+	 */
+	private void sampleSystemTicks() {
+		LinuxProcReader reader = this.procReader;
+		if ( reader == null ) {
+			long[] ticks = this.processor.getSystemCpuLoadTicks();
+			this.systemCpuLoad	= computeLoad( this.previousTicks, ticks );
+			this.previousTicks	= ticks;
+			return;
+		}
+
+		long[] ticks = this.nextTicks;
+		if ( !reader.readCpuTicks( ticks ) ) {
+			// Fall back to OSHI for good, its ticks are in milliseconds so start over from a fresh sample
+			this.procReader		= null;
+			this.previousTicks	= this.processor.getSystemCpuLoadTicks();
+			return;
+		}
+		this.systemCpuLoad	= computeLoad( this.previousTicks, ticks );
+		this.nextTicks		= this.previousTicks;
+		this.previousTicks	= ticks;
+	}
+
+	/**
+	 * Read the system ticks from <code>/proc</code> if possible, or from OSHI.
+	 *
+	 * @param ticks The buffer to read the <code>/proc</code> ticks into
+	 *
+	 * @return The ticks
+	 */
+	private long[] readSystemTicks( long[] ticks ) {
+		LinuxProcReader reader = this.procReader;
+		if ( reader != null ) {
+			if ( reader.readCpuTicks( ticks ) ) {
+				return ticks;
+			}
+			this.procReader = null;
+		}
+		return this.processor.getSystemCpuLoadTicks();
+	}
+
+	/**
+	 * Compute the CPU load between two tick snapshots, the same way OSHI does.
+	 *
+	 * @param previous The older ticks
+	 * @param current  The newer ticks
+	 *
+	 * @return The CPU load between 0 and 1
+	 */
+	public static double computeLoad( long[] previous, long[] current ) {
+		long total = 0;
+		for ( int i = 0; i < current.length; i++ ) {
+			total += current[ i ] - previous[ i ];
+		}
+		long idle = current[ TickType.IDLE.getIndex() ] + current[ TickType.IOWAIT.getIndex() ]
+		    - previous[ TickType.IDLE.getIndex() ] - previous[ TickType.IOWAIT.getIndex() ];
+		return total > 0 && idle >= 0 ? ( double ) ( total - idle ) / total : 0d;
+	}
+
+}
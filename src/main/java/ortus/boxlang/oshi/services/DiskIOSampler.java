@@ -0,0 +1,135 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.util.Set;
+
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.HardwareAbstractionLayer;
+
+/**
+ * Samples the I/O counters of the physical disks on the module sampler cadence, see {@link CounterRateSampler}.
+ * The transfer time is turned into a busy time utilization instead of a rate.
+ */
+public class DiskIOSampler extends CounterRateSampler<HWDiskStore> {
+
+	/**
+	 * The counters sampled per disk: bytes read, bytes written, reads, writes and transfer time
+	 */
+	private static final int	COUNTERS		= 5;
+
+	/**
+	 * The index of the transfer time counter, which is turned into a utilization instead of a rate
+	 */
+	private static final int	TRANSFER_TIME	= 4;
+
+	/**
+	 * Constructor
+	 *
+	 * @param hardware The hardware abstraction layer
+	 */
+	public DiskIOSampler( HardwareAbstractionLayer hardware ) {
+		super( COUNTERS, "Disk", hardware::getDiskStores );
+	}
+
+	/**
+	 * Get the names of the sampled disks
+	 *
+	 * @return The disk names
+	 */
+	public Set<String> getDiskNames() {
+		return getDeviceNames();
+	}
+
+	/**
+	 * Get the I/O stats of a disk. The rates are 0 until the sampler ran twice for the disk.
+	 *
+	 * @param name The disk name, e.g. <code>/dev/sda</code>
+	 *
+	 * @return A struct with the I/O rates, utilization and queue length of the disk
+	 *
+	 * @throws BoxRuntimeException If the disk is not found
+	 */
+	public IStruct getStats( String name ) {
+		return getDevice( name );
+	}
+
+	/**
+	 * Get the I/O stats of all the disks
+	 *
+	 * @return A struct of stats structs by disk name
+	 */
+	public IStruct getStats() {
+		return getDevices();
+	}
+
+	@Override
+	protected String getName( HWDiskStore disk ) {
+		return disk.getName();
+	}
+
+	@Override
+	protected boolean update( HWDiskStore disk ) {
+		return disk.updateAttributes();
+	}
+
+	@Override
+	protected long getTimeStamp( HWDiskStore disk ) {
+		return disk.getTimeStamp();
+	}
+
+	@Override
+	protected long readCounter( HWDiskStore disk, int counter ) {
+		return switch ( counter ) {
+			case 0 -> disk.getReadBytes();
+			case 1 -> disk.getWriteBytes();
+			case 2 -> disk.getReads();
+			case 3 -> disk.getWrites();
+			default -> disk.getTransferTime();
+		};
+	}
+
+	@Override
+	protected double computeRate( int counter, long delta, long elapsed ) {
+		if ( counter == TRANSFER_TIME ) {
+			// Milliseconds spent transferring per millisecond elapsed
+			return Math.min( 1d, ( double ) delta / elapsed );
+		}
+		return super.computeRate( counter, delta, elapsed );
+	}
+
+	@Override
+	protected IStruct toStruct( HWDiskStore disk, double[] rates, int offset ) {
+		IStruct result = new Struct( IStruct.TYPES.LINKED );
+		result.put( Key._NAME, disk.getName() );
+		result.put( KeyDictionary.readBytesPerSecond, rates[ offset ] );
+		result.put( KeyDictionary.writeBytesPerSecond, rates[ offset + 1 ] );
+		result.put( KeyDictionary.readsPerSecond, rates[ offset + 2 ] );
+		result.put( KeyDictionary.writesPerSecond, rates[ offset + 3 ] );
+		result.put( KeyDictionary.iops, rates[ offset + 2 ] + rates[ offset + 3 ] );
+		result.put( KeyDictionary.utilization, rates[ offset + TRANSFER_TIME ] );
+		result.put( KeyDictionary.queueLength, disk.getCurrentQueueLength() );
+		return result;
+	}
+
+}
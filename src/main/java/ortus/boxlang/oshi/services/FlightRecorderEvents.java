@@ -0,0 +1,191 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import ortus.boxlang.oshi.services.VolumeIndex.Space;
+
+/**
+ * Emits the module metrics as JDK Flight Recorder events, so OS pressure can be lined up with the JVM events of a
+ * recording: <code>oshi.CpuLoad</code>, <code>oshi.MemoryAvailable</code> and <code>oshi.DiskUsage</code>.
+ * <p>
+ * The events are periodic: JFR calls the hooks on its own periodic thread, only while a recording has the event
+ * enabled, so nothing runs when no recording is active. The CPU event reads the latest loads of the module samplers.
+ * The memory and disk events read through the TTL cache when JFR calls them, so their values are at most one TTL
+ * old, and a cache miss costs one available memory read, or one scan of the mount table for every mount point.
+ */
+public class FlightRecorderEvents {
+
+	/**
+	 * The CPU load of the system and of the container, every second by default
+	 */
+	@Name( "oshi.CpuLoad" )
+	@Label( "CPU Load" )
+	@Description( "The CPU load sampled by the bx-oshi module" )
+	@Category( { "BoxLang", "OSHI" } )
+	@Period( "1 s" )
+	@StackTrace( false )
+	public static class CpuLoadEvent extends Event {
+
+		@Label( "System Load" )
+		@Percentage
+		public double	systemLoad;
+
+		@Label( "Container Load" )
+		@Description( "The CPU load relative to the cgroup CPU quota, the system load outside of a container" )
+		@Percentage
+		public double	containerLoad;
+	}
+
+	/**
+	 * The available memory of the system, every second by default
+	 */
+	@Name( "oshi.MemoryAvailable" )
+	@Label( "Memory Available" )
+	@Description( "The available memory read by the bx-oshi module" )
+	@Category( { "BoxLang", "OSHI" } )
+	@Period( "1 s" )
+	@StackTrace( false )
+	public static class MemoryAvailableEvent extends Event {
+
+		@Label( "Available" )
+		@DataAmount
+		public long	available;
+
+		@Label( "Total" )
+		@DataAmount
+		public long	total;
+	}
+
+	/**
+	 * The space of each mounted volume, one event per mount point every 10 seconds by default
+	 */
+	@Name( "oshi.DiskUsage" )
+	@Label( "Disk Usage" )
+	@Description( "The space of a mounted volume read by the bx-oshi module" )
+	@Category( { "BoxLang", "OSHI" } )
+	@Period( "10 s" )
+	@StackTrace( false )
+	public static class DiskUsageEvent extends Event {
+
+		@Label( "Mount Point" )
+		public String	mount;
+
+		@Label( "Total Space" )
+		@DataAmount
+		public long		totalSpace;
+
+		@Label( "Free Space" )
+		@DataAmount
+		public long		freeSpace;
+	}
+
+	/**
+	 * The OSHI service to read the metrics from
+	 */
+	private final OshiService		oshi;
+
+	/**
+	 * The periodic hooks, kept to unregister them
+	 */
+	private final Runnable			cpuLoadHook			= this::emitCpuLoad;
+	private final Runnable			memoryAvailableHook	= this::emitMemoryAvailable;
+	private final Runnable			diskUsageHook		= this::emitDiskUsage;
+
+	/**
+	 * Constructor
+	 *
+	 * @param oshi The OSHI service
+	 */
+	public FlightRecorderEvents( OshiService oshi ) {
+		this.oshi = oshi;
+	}
+
+	/**
+	 * Whether the JVM supports Flight Recorder
+	 *
+	 * @return True if the events can be registered
+	 */
+	public static boolean isAvailable() {
+		return FlightRecorder.isAvailable();
+	}
+
+	/**
+	 * Register the periodic events with Flight Recorder
+	 */
+	public void register() {
+		FlightRecorder.addPeriodicEvent( CpuLoadEvent.class, this.cpuLoadHook );
+		FlightRecorder.addPeriodicEvent( MemoryAvailableEvent.class, this.memoryAvailableHook );
+		FlightRecorder.addPeriodicEvent( DiskUsageEvent.class, this.diskUsageHook );
+	}
+
+	/**
+	 * Unregister the periodic events, so the hooks don't keep the service alive once the module is unloaded
+	 */
+	public void unregister() {
+		for ( Runnable hook : List.of( this.cpuLoadHook, this.memoryAvailableHook, this.diskUsageHook ) ) {
+			FlightRecorder.removePeriodicEvent( hook );
+		}
+	}
+
+	/**
+	 * Emit the latest CPU loads of the samplers
+	 */
+	private void emitCpuLoad() {
+		CpuLoadEvent event = new CpuLoadEvent();
+		event.systemLoad	= this.oshi.getCpuLoadSampler().getSystemCpuLoad();
+		event.containerLoad	= this.oshi.getContainerCpuLoad();
+		event.commit();
+	}
+
+	/**
+	 * Emit the cached available memory
+	 */
+	private void emitMemoryAvailable() {
+		MemoryAvailableEvent event = new MemoryAvailableEvent();
+		event.available	= this.oshi.getSystemFreeMemory();
+		event.total		= this.oshi.getSystemTotalMemory();
+		event.commit();
+	}
+
+	/**
+	 * Emit the cached space of every mount point, read together in a single scan
+	 */
+	private void emitDiskUsage() {
+		for ( Map.Entry<String, Space> entry : this.oshi.getDiskSpace().entrySet() ) {
+			DiskUsageEvent event = new DiskUsageEvent();
+			event.mount			= entry.getKey();
+			event.totalSpace	= entry.getValue().totalSpace();
+			event.freeSpace		= entry.getValue().freeSpace();
+			event.commit();
+		}
+	}
+
+}
@@ -0,0 +1,206 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.util.List;
+
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.oshi.util.ManagementBeans;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * Samples the JVM garbage collection and allocation counters on the module sampler cadence, so the GC pressure can
+ * be reported over a sliding window.
+ * <p>
+ * Each sample stores the cumulative collection count, collection time and allocated bytes in primitive ring
+ * buffers. The stats are the difference between the current counters and the oldest sample in the window, so they
+ * are computed incrementally without walking the window. The management beans are looked up once in
+ * {@link ManagementBeans}.
+ */
+public class GCSampler implements Runnable {
+
+	/**
+	 * The bytes in a megabyte, for the allocation rate
+	 */
+	private static final double					BYTES_PER_MB	= 1024d * 1024d;
+
+	/**
+	 * The garbage collectors to sample
+	 */
+	private final List<GarbageCollectorMXBean>	collectors		= ManagementBeans.GARBAGE_COLLECTORS;
+
+	/**
+	 * The number of samples in the window
+	 */
+	private final int							capacity;
+
+	/**
+	 * The epoch milliseconds of each sample
+	 */
+	private final long[]						timestamps;
+
+	/**
+	 * The cumulative collection count of each sample
+	 */
+	private final long[]						collectionCounts;
+
+	/**
+	 * The cumulative collection time in milliseconds of each sample
+	 */
+	private final long[]						collectionTimes;
+
+	/**
+	 * The cumulative allocated bytes of each sample
+	 */
+	private final long[]						allocatedBytes;
+
+	/**
+	 * The number of samples taken so far
+	 */
+	private long								count;
+
+	/**
+	 * Constructor
+	 *
+	 * @param capacity The number of samples in the sliding window
+	 */
+	public GCSampler( int capacity ) {
+		if ( capacity <= 0 ) {
+			throw new BoxRuntimeException( "The GC stats window must be greater than the sampler interval" );
+		}
+		this.capacity			= capacity;
+		this.timestamps			= new long[ capacity ];
+		this.collectionCounts	= new long[ capacity ];
+		this.collectionTimes	= new long[ capacity ];
+		this.allocatedBytes		= new long[ capacity ];
+		// Seed the window so the stats are available right away
+		run();
+	}
+
+	/**
+	 * Record a sample of the GC and allocation counters.
+	 */
+	@Override
+	public synchronized void run() {
+		int slot = ( int ) ( this.count % this.capacity );
+		this.timestamps[ slot ]			= System.currentTimeMillis();
+		this.collectionCounts[ slot ]	= getCollectionCount();
+		this.collectionTimes[ slot ]	= getCollectionTime();
+		this.allocatedBytes[ slot ]		= getAllocatedBytes();
+		this.count++;
+	}
+
+	/**
+	 * Get the GC stats between the oldest sample of the window and now.
+	 * <p>
+	 * The returned struct contains the <code>window</code> in milliseconds, the <code>collections</code> and
+	 * <code>collectionTime</code> in the window, the <code>gcTimePercentage</code>, the <code>collectionsPerSecond</code>,
+	 * the <code>allocatedBytes</code> and <code>allocationRate</code> in MB per second (-1 if the JVM does not track
+	 * allocations), and the cumulative <code>count</code> and <code>time</code> of each collector in
+	 * <code>collectors</code>.
+	 *
+	 * @return The GC stats struct
+	 */
+	public IStruct getStats() {
+		long	now				= System.currentTimeMillis();
+		long	collectionCount	= getCollectionCount();
+		long	collectionTime	= getCollectionTime();
+		long	allocated		= getAllocatedBytes();
+
+		long	oldestTime;
+		long	oldestCount;
+		long	oldestCollectionTime;
+		long	oldestAllocated;
+		synchronized ( this ) {
+			int oldest = ( int ) ( this.count <= this.capacity ? 0 : this.count % this.capacity );
+			oldestTime				= this.timestamps[ oldest ];
+			oldestCount				= this.collectionCounts[ oldest ];
+			oldestCollectionTime	= this.collectionTimes[ oldest ];
+			oldestAllocated			= this.allocatedBytes[ oldest ];
+		}
+
+		long	window			= Math.max( 0, now - oldestTime );
+		long	collections		= collectionCount - oldestCount;
+		long	gcTime			= collectionTime - oldestCollectionTime;
+		long	windowAllocated	= allocated < 0 || oldestAllocated < 0 ? -1 : allocated - oldestAllocated;
+
+		IStruct result = new Struct( IStruct.TYPES.LINKED );
+		result.put( KeyDictionary.window, window );
+		result.put( KeyDictionary.collections, collections );
+		result.put( KeyDictionary.collectionTime, gcTime );
+		result.put( KeyDictionary.gcTimePercentage, window > 0 ? gcTime * 100d / window : 0d );
+		result.put( KeyDictionary.collectionsPerSecond, window > 0 ? collections * 1000d / window : 0d );
+		result.put( KeyDictionary.allocatedBytes, windowAllocated );
+		result.put( KeyDictionary.allocationRate,
+		    windowAllocated < 0 ? -1d : window > 0 ? windowAllocated / BYTES_PER_MB * 1000d / window : 0d );
+
+		IStruct collectorStats = new Struct( IStruct.TYPES.LINKED );
+		for ( GarbageCollectorMXBean collector : this.collectors ) {
+			collectorStats.put( Key.of( collector.getName() ), Struct.of(
+			    KeyDictionary.count, Math.max( 0, collector.getCollectionCount() ),
+			    KeyDictionary.time, Math.max( 0, collector.getCollectionTime() )
+			) );
+		}
+		result.put( KeyDictionary.collectors, collectorStats );
+		return result;
+	}
+
+	/**
+	 * Get the total collection count of all the collectors. Collectors that do not report a count are skipped.
+	 *
+	 * @return The collection count
+	 */
+	private long getCollectionCount() {
+		long total = 0;
+		for ( GarbageCollectorMXBean collector : this.collectors ) {
+			total += Math.max( 0, collector.getCollectionCount() );
+		}
+		return total;
+	}
+
+	/**
+	 * Get the total collection time of all the collectors. Collectors that do not report a time are skipped.
+	 *
+	 * @return The collection time in milliseconds
+	 */
+	private long getCollectionTime() {
+		long total = 0;
+		for ( GarbageCollectorMXBean collector : this.collectors ) {
+			total += Math.max( 0, collector.getCollectionTime() );
+		}
+		return total;
+	}
+
+	/**
+	 * Get the bytes allocated in the heap since the JVM started, including by terminated threads
+	 *
+	 * @return The allocated bytes, or -1 if the JVM does not track them
+	 */
+	private static long getAllocatedBytes() {
+		com.sun.management.ThreadMXBean threads = ManagementBeans.THREADS;
+		if ( threads == null || !threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled() ) {
+			return -1;
+		}
+		return threads.getTotalThreadAllocatedBytes();
+	}
+
+}
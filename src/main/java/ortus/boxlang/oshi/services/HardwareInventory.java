@@ -0,0 +1,361 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import oshi.SystemInfo;
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.CentralProcessor.ProcessorIdentifier;
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.software.os.OperatingSystem;
+
+/**
+ * The static hardware inventory of the machine: CPU model and core counts, total memory, disk models and serials,
+ * and OS version. These values never change while the process runs, so they are discovered once when the module
+ * loads and served from memory.
+ * <p>
+ * If the <code>inventoryPath</code> module setting is set, the inventory is persisted to that file keyed by the boot
+ * id of the machine. The next start on the same boot reads the file instead of discovering the hardware through
+ * OSHI again. The service creates the samplers that walk the devices themselves (processor ticks, disks, network
+ * interfaces, volumes) on first use, so a cold start with a persisted inventory does not run the native discovery.
+ * A file that is incomplete or corrupted is ignored and the hardware is discovered again.
+ */
+public class HardwareInventory {
+
+	/**
+	 * The format version of the persisted file, bumped when the keys change
+	 */
+	private static final String			FORMAT_VERSION	= "1";
+
+	/**
+	 * The Linux boot id, unique per boot
+	 */
+	private static final Path			LINUX_BOOT_ID	= Path.of( "/proc/sys/kernel/random/boot_id" );
+
+	/**
+	 * The integer values of the inventory, besides the disks
+	 */
+	private static final List<String>	INT_VALUES		= List.of( "cpu.physicalPackageCount", "cpu.physicalProcessorCount",
+	    "cpu.logicalProcessorCount", "os.bitness", "disk.count" );
+
+	/**
+	 * The long values of the inventory, besides the disks
+	 */
+	private static final List<String>	LONG_VALUES		= List.of( "cpu.maxFrequency", "memory.total" );
+
+	/**
+	 * Logger
+	 */
+	private static final Logger			logger			= LoggerFactory.getLogger( HardwareInventory.class );
+
+	/**
+	 * The inventory values
+	 */
+	private final Properties			values;
+
+	/**
+	 * The total memory, parsed once
+	 */
+	private final long					totalMemory;
+
+	/**
+	 * Whether the inventory was read from the persisted file
+	 */
+	private final boolean				persisted;
+
+	/**
+	 * Constructor
+	 *
+	 * @param values    The inventory values
+	 * @param persisted Whether the values were read from the persisted file
+	 */
+	private HardwareInventory( Properties values, boolean persisted ) {
+		this.values			= values;
+		this.totalMemory	= Long.parseLong( values.getProperty( "memory.total" ) );
+		this.persisted		= persisted;
+	}
+
+	/**
+	 * Load the inventory from the persisted file if it belongs to the current boot, or discover it through OSHI.
+	 *
+	 * @param systemInfo The OSHI entry point
+	 * @param path       The file to persist the inventory to, or null to not persist it
+	 *
+	 * @return The inventory
+	 */
+	public static HardwareInventory load( SystemInfo systemInfo, String path ) {
+		long	start	= System.nanoTime();
+		String	bootId	= getBootId( systemInfo );
+		Path	file	= path == null ? null : Path.of( path );
+
+		if ( file != null && Files.isRegularFile( file ) ) {
+			Properties stored = new Properties();
+			try ( Reader reader = Files.newBufferedReader( file, StandardCharsets.UTF_8 ) ) {
+				stored.load( reader );
+			} catch ( IOException | IllegalArgumentException e ) {
+				logger.warn( "Unable to read the bx-oshi hardware inventory [{}], discovering it again", file, e );
+			}
+			if ( FORMAT_VERSION.equals( stored.getProperty( "version" ) ) && bootId.equals( stored.getProperty( "bootId" ) ) ) {
+				if ( isValid( stored ) ) {
+					logger.debug( "Loaded the bx-oshi hardware inventory from [{}] in {}ms", file, ( System.nanoTime() - start ) / 1_000_000 );
+					return new HardwareInventory( stored, true );
+				}
+				logger.warn( "The bx-oshi hardware inventory [{}] is incomplete or corrupted, discovering it again", file );
+			}
+		}
+
+		Properties discovered = discover( systemInfo, bootId );
+		if ( file != null ) {
+			store( discovered, file );
+		}
+		logger.debug( "Discovered the bx-oshi hardware inventory in {}ms", ( System.nanoTime() - start ) / 1_000_000 );
+		return new HardwareInventory( discovered, false );
+	}
+
+	/**
+	 * Get the total memory of the machine
+	 *
+	 * @return The total memory in bytes
+	 */
+	public long getTotalMemory() {
+		return this.totalMemory;
+	}
+
+	/**
+	 * Get the number of logical processors of the machine
+	 *
+	 * @return The logical processor count
+	 */
+	public int getLogicalProcessorCount() {
+		return getInt( "cpu.logicalProcessorCount" );
+	}
+
+	/**
+	 * Whether the inventory was read from the persisted file instead of discovered
+	 *
+	 * @return True if read from the file
+	 */
+	public boolean isPersisted() {
+		return this.persisted;
+	}
+
+	/**
+	 * Get the inventory as a struct
+	 *
+	 * @return A struct with the <code>bootId</code>, <code>cpu</code>, <code>memory</code>, <code>os</code> and
+	 *         <code>disks</code> of the machine
+	 */
+	public IStruct toStruct() {
+		IStruct cpu = new Struct( IStruct.TYPES.LINKED );
+		cpu.put( Key._NAME, this.values.getProperty( "cpu.name" ) );
+		cpu.put( KeyDictionary.vendor, this.values.getProperty( "cpu.vendor" ) );
+		cpu.put( KeyDictionary.identifier, this.values.getProperty( "cpu.identifier" ) );
+		cpu.put( KeyDictionary.microarchitecture, this.values.getProperty( "cpu.microarchitecture" ) );
+		cpu.put( KeyDictionary.physicalPackageCount, getInt( "cpu.physicalPackageCount" ) );
+		cpu.put( KeyDictionary.physicalProcessorCount, getInt( "cpu.physicalProcessorCount" ) );
+		cpu.put( KeyDictionary.logicalProcessorCount, getInt( "cpu.logicalProcessorCount" ) );
+		cpu.put( KeyDictionary.maxFrequency, getLong( "cpu.maxFrequency" ) );
+
+		IStruct os = new Struct( IStruct.TYPES.LINKED );
+		os.put( KeyDictionary.family, this.values.getProperty( "os.family" ) );
+		os.put( KeyDictionary.manufacturer, this.values.getProperty( "os.manufacturer" ) );
+		os.put( KeyDictionary.version, this.values.getProperty( "os.version" ) );
+		os.put( KeyDictionary.buildNumber, this.values.getProperty( "os.buildNumber" ) );
+		os.put( KeyDictionary.bitness, getInt( "os.bitness" ) );
+
+		int		diskCount	= getInt( "disk.count" );
+		Array	disks		= new Array( diskCount );
+		for ( int i = 0; i < diskCount; i++ ) {
+			IStruct disk = new Struct( IStruct.TYPES.LINKED );
+			disk.put( Key._NAME, this.values.getProperty( "disk." + i + ".name" ) );
+			disk.put( KeyDictionary.model, this.values.getProperty( "disk." + i + ".model" ) );
+			disk.put( KeyDictionary.serial, this.values.getProperty( "disk." + i + ".serial" ) );
+			disk.put( KeyDictionary.size, getLong( "disk." + i + ".size" ) );
+			disks.add( disk );
+		}
+
+		IStruct result = new Struct( IStruct.TYPES.LINKED );
+		result.put( KeyDictionary.bootId, this.values.getProperty( "bootId" ) );
+		result.put( KeyDictionary.cpu, cpu );
+		result.put( KeyDictionary.memory, Struct.of( KeyDictionary.total, this.totalMemory ) );
+		result.put( KeyDictionary.os, os );
+		result.put( KeyDictionary.disks, disks );
+		return result;
+	}
+
+	/**
+	 * Discover the inventory through OSHI
+	 *
+	 * @param systemInfo The OSHI entry point
+	 * @param bootId     The current boot id
+	 *
+	 * @return The inventory values
+	 */
+	private static Properties discover( SystemInfo systemInfo, String bootId ) {
+		HardwareAbstractionLayer	hardware		= systemInfo.getHardware();
+		OperatingSystem				operatingSystem	= systemInfo.getOperatingSystem();
+		CentralProcessor			processor		= hardware.getProcessor();
+		ProcessorIdentifier			identifier		= processor.getProcessorIdentifier();
+		Properties					values			= new Properties();
+
+		set( values, "version", FORMAT_VERSION );
+		set( values, "bootId", bootId );
+		set( values, "cpu.name", identifier.getName() );
+		set( values, "cpu.vendor", identifier.getVendor() );
+		set( values, "cpu.identifier", identifier.getIdentifier() );
+		set( values, "cpu.microarchitecture", identifier.getMicroarchitecture() );
+		set( values, "cpu.physicalPackageCount", String.valueOf( processor.getPhysicalPackageCount() ) );
+		set( values, "cpu.physicalProcessorCount", String.valueOf( processor.getPhysicalProcessorCount() ) );
+		set( values, "cpu.logicalProcessorCount", String.valueOf( processor.getLogicalProcessorCount() ) );
+		set( values, "cpu.maxFrequency", String.valueOf( processor.getMaxFreq() ) );
+		set( values, "memory.total", String.valueOf( hardware.getMemory().getTotal() ) );
+		set( values, "os.family", operatingSystem.getFamily() );
+		set( values, "os.manufacturer", operatingSystem.getManufacturer() );
+		set( values, "os.version", operatingSystem.getVersionInfo().getVersion() );
+		set( values, "os.buildNumber", String.valueOf( operatingSystem.getVersionInfo().getBuildNumber() ) );
+		set( values, "os.bitness", String.valueOf( operatingSystem.getBitness() ) );
+
+		List<HWDiskStore> disks = hardware.getDiskStores();
+		set( values, "disk.count", String.valueOf( disks.size() ) );
+		for ( int i = 0; i < disks.size(); i++ ) {
+			HWDiskStore disk = disks.get( i );
+			set( values, "disk." + i + ".name", disk.getName() );
+			set( values, "disk." + i + ".model", disk.getModel() );
+			set( values, "disk." + i + ".serial", disk.getSerial() );
+			set( values, "disk." + i + ".size", String.valueOf( disk.getSize() ) );
+		}
+		return values;
+	}
+
+	/**
+	 * Check that a persisted inventory has every numeric value, e.g. it was not truncated or edited by hand
+	 *
+	 * @param values The inventory values
+	 *
+	 * @return True if the inventory can be served
+	 */
+	private static boolean isValid( Properties values ) {
+		try {
+			for ( String name : INT_VALUES ) {
+				Integer.parseInt( values.getProperty( name ) );
+			}
+			for ( String name : LONG_VALUES ) {
+				Long.parseLong( values.getProperty( name ) );
+			}
+			int diskCount = Integer.parseInt( values.getProperty( "disk.count" ) );
+			for ( int i = 0; i < diskCount; i++ ) {
+				Long.parseLong( values.getProperty( "disk." + i + ".size" ) );
+			}
+			return diskCount >= 0
+			    && Long.parseLong( values.getProperty( "memory.total" ) ) > 0
+			    && Integer.parseInt( values.getProperty( "cpu.logicalProcessorCount" ) ) > 0;
+		} catch ( NumberFormatException e ) {
+			return false;
+		}
+	}
+
+	/**
+	 * Persist the inventory, replacing the file atomically so a concurrent start never reads a partial file
+	 *
+	 * @param values The inventory values
+	 * @param file   The file
+	 */
+	private static void store( Properties values, Path file ) {
+		try {
+			Path directory = file.toAbsolutePath().getParent();
+			Files.createDirectories( directory );
+			Path temp = Files.createTempFile( directory, file.getFileName().toString(), ".tmp" );
+			try ( Writer writer = Files.newBufferedWriter( temp, StandardCharsets.UTF_8 ) ) {
+				values.store( writer, "bx-oshi hardware inventory" );
+			}
+			Files.move( temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+		} catch ( IOException e ) {
+			logger.warn( "Unable to persist the bx-oshi hardware inventory to [{}]", file, e );
+		}
+	}
+
+	/**
+	 * Get an id unique to the current boot of the machine: the Linux boot id, or the boot time elsewhere
+	 *
+	 * @param systemInfo The OSHI entry point
+	 *
+	 * @return The boot id
+	 */
+	private static String getBootId( SystemInfo systemInfo ) {
+		if ( Files.isReadable( LINUX_BOOT_ID ) ) {
+			try {
+				return Files.readString( LINUX_BOOT_ID ).trim();
+			} catch ( IOException e ) {
+				// Fall back to the boot time
+			}
+		}
+		return String.valueOf( systemInfo.getOperatingSystem().getSystemBootTime() );
+	}
+
+	/**
+	 * Set an inventory value, OSHI reports missing values as null on some platforms
+	 *
+	 * @param values The inventory values
+	 * @param name   The value name
+	 * @param value  The value
+	 */
+	private static void set( Properties values, String name, String value ) {
+		values.setProperty( name, value == null ? "" : value );
+	}
+
+	/**
+	 * Get a numeric inventory value
+	 *
+	 * @param name The value name
+	 *
+	 * @return The value, 0 if missing
+	 */
+	private int getInt( String name ) {
+		return Integer.parseInt( this.values.getProperty( name, "0" ) );
+	}
+
+	/**
+	 * Get a numeric inventory value
+	 *
+	 * @param name The value name
+	 *
+	 * @return The value, 0 if missing
+	 */
+	private long getLong( String name ) {
+		return Long.parseLong( this.values.getProperty( name, "0" ) );
+	}
+
+}
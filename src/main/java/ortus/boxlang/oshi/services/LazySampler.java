@@ -0,0 +1,84 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.util.function.Supplier;
+
+/**
+ * Defers the creation of a sampler that discovers devices through OSHI (processors, disks, network interfaces,
+ * volumes) to its first use, so starting the service does not pay for the discovery.
+ * <p>
+ * The sampler is created by the first caller that needs it, or by the first run of the module sampler, which then
+ * skips the sample since creating the sampler already took one.
+ *
+ * @param <T> The sampler type
+ */
+final class LazySampler<T extends Runnable> implements Runnable {
+
+	/**
+	 * Creates the sampler
+	 */
+	private final Supplier<T>	factory;
+
+	/**
+	 * The sampler, null until first used
+	 */
+	private volatile T			sampler;
+
+	/**
+	 * Constructor
+	 *
+	 * @param factory Creates the sampler
+	 */
+	LazySampler( Supplier<T> factory ) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Get the sampler, creating it if needed
+	 *
+	 * @return The sampler
+	 */
+	T get() {
+		T current = this.sampler;
+		if ( current == null ) {
+			synchronized ( this ) {
+				current = this.sampler;
+				if ( current == null ) {
+					current			= this.factory.get();
+					this.sampler	= current;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Run the sampler, or create it on the first run.
+	 */
+	@Override
+	public void run() {
+		T current = this.sampler;
+		if ( current == null ) {
+			get();
+			return;
+		}
+		current.run();
+	}
+
+}
@@ -0,0 +1,174 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.oshi.util.ProcFile;
+import oshi.PlatformEnum;
+import oshi.SystemInfo;
+import oshi.hardware.CentralProcessor.TickType;
+
+/**
+ * The Linux fast path of the hot metrics: reads <code>/proc/meminfo</code>, <code>/proc/stat</code> and
+ * <code>/proc/loadavg</code> directly instead of going through OSHI, which splits these files into lists of strings
+ * on every call.
+ * <p>
+ * Each file keeps an open channel and a reusable direct buffer (see {@link ProcFile}) and the values are parsed in
+ * place, so a read costs a syscall and a few microseconds and does not allocate. Every read reports a failure
+ * instead of throwing so the callers can fall back to OSHI.
+ */
+public class LinuxProcReader {
+
+	/**
+	 * The line labels to look for
+	 */
+	private static final byte[]	MEM_AVAILABLE	= ProcFile.label( "MemAvailable:" );
+	private static final byte[]	CPU				= ProcFile.label( "cpu " );
+
+	/**
+	 * Logger
+	 */
+	private static final Logger	logger			= LoggerFactory.getLogger( LinuxProcReader.class );
+
+	/**
+	 * The memory statistics, <code>MemAvailable</code> is on the third line
+	 */
+	private final ProcFile		meminfo			= new ProcFile( Path.of( "/proc/meminfo" ), 1024 );
+
+	/**
+	 * The kernel statistics, the aggregated <code>cpu</code> line comes first
+	 */
+	private final ProcFile		stat			= new ProcFile( Path.of( "/proc/stat" ), 512 );
+
+	/**
+	 * The load averages
+	 */
+	private final ProcFile		loadavg			= new ProcFile( Path.of( "/proc/loadavg" ), 128 );
+
+	/**
+	 * Create the reader if the module runs on Linux with a readable <code>/proc</code>
+	 *
+	 * @return The reader, or null if the fast path is not available
+	 */
+	public static LinuxProcReader create() {
+		if ( SystemInfo.getCurrentPlatform() != PlatformEnum.LINUX || !Files.isReadable( Path.of( "/proc/meminfo" ) ) ) {
+			return null;
+		}
+		LinuxProcReader reader = new LinuxProcReader();
+		// Check the formats once so a kernel we can't parse disables the fast path instead of failing every read
+		if ( reader.getAvailableMemory() < 0 || !reader.readCpuTicks( new long[ TickType.values().length ] ) ) {
+			logger.debug( "The bx-oshi /proc fast path is not available, using OSHI" );
+			reader.close();
+			return null;
+		}
+		return reader;
+	}
+
+	/**
+	 * Get the memory available to start new applications without swapping, like OSHI does
+	 *
+	 * @return The available memory in bytes, or -1 if it can't be read
+	 */
+	public synchronized long getAvailableMemory() {
+		ByteBuffer buffer = read( this.meminfo );
+		if ( buffer == null || !ProcFile.seekLine( buffer, MEM_AVAILABLE ) ) {
+			return -1L;
+		}
+		long kilobytes = ProcFile.nextLong( buffer );
+		return kilobytes < 0 ? -1L : kilobytes * 1024L;
+	}
+
+	/**
+	 * Read the system CPU ticks of the aggregated <code>cpu</code> line, in the order of OSHI's
+	 * <code>TickType</code>: user, nice, system, idle, iowait, irq, softirq and steal. The ticks are in
+	 * <code>USER_HZ</code> units rather than OSHI's milliseconds, so only compare them with ticks read here.
+	 *
+	 * @param ticks The array to fill, columns missing on older kernels are set to 0
+	 *
+	 * @return True if the ticks were read
+	 */
+	public synchronized boolean readCpuTicks( long[] ticks ) {
+		ByteBuffer buffer = read( this.stat );
+		if ( buffer == null || !ProcFile.startsWith( buffer, CPU ) ) {
+			return false;
+		}
+		for ( int i = 0; i < ticks.length; i++ ) {
+			long value = ProcFile.nextLong( buffer );
+			if ( value < 0 && i < 4 ) {
+				return false;
+			}
+			ticks[ i ] = Math.max( value, 0L );
+		}
+		return true;
+	}
+
+	/**
+	 * Read the 1, 5 and 15 minute load averages
+	 *
+	 * @param averages The array to fill, up to 3 values
+	 *
+	 * @return True if the load averages were read
+	 */
+	public synchronized boolean readLoadAverage( double[] averages ) {
+		ByteBuffer buffer = read( this.loadavg );
+		if ( buffer == null ) {
+			return false;
+		}
+		for ( int i = 0; i < averages.length && i < 3; i++ ) {
+			double value = ProcFile.nextDouble( buffer );
+			if ( value < 0 ) {
+				return false;
+			}
+			averages[ i ] = value;
+		}
+		return true;
+	}
+
+	/**
+	 * Close the open files
+	 */
+	public synchronized void close() {
+		this.meminfo.close();
+		this.stat.close();
+		this.loadavg.close();
+	}
+
+	/**
+	 * Read a file, logging the failure
+	 *
+	 * @param file The file
+	 *
+	 * @return The buffer, or null if the file can't be read
+	 */
+	private ByteBuffer read( ProcFile file ) {
+		try {
+			return file.read();
+		} catch ( IOException e ) {
+			logger.debug( "Unable to read [{}]", file.getPath(), e );
+			return null;
+		}
+	}
+
+}
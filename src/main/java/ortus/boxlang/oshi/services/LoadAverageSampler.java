@@ -0,0 +1,102 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import oshi.hardware.CentralProcessor;
+
+/**
+ * Samples the 1, 5 and 15 minute system load averages on the module sampler cadence.
+ * <p>
+ * On Linux the averages are parsed from <code>/proc/loadavg</code> by the {@link LinuxProcReader}, elsewhere they
+ * come from {@link CentralProcessor#getSystemLoadAverage(int)}. They are written into two reusable
+ * <code>double[]</code> buffers that are swapped on every sample.
+ */
+public class LoadAverageSampler implements Runnable {
+
+	/**
+	 * The number of load averages: 1, 5 and 15 minutes
+	 */
+	private static final int			AVERAGES	= 3;
+
+	/**
+	 * The processor to sample from OSHI
+	 */
+	private final CentralProcessor		processor;
+
+	/**
+	 * The <code>/proc</code> reader of the load averages, null to read them from OSHI
+	 */
+	private volatile LinuxProcReader	procReader;
+
+	/**
+	 * The load averages of the last sample
+	 */
+	private volatile double[]			loadAverages;
+
+	/**
+	 * The buffer the next load averages are read into
+	 */
+	private double[]					nextLoadAverages;
+
+	/**
+	 * Constructor
+	 *
+	 * @param processor  The processor to sample
+	 * @param procReader The <code>/proc</code> reader of the load averages, or null to read them from OSHI
+	 */
+	public LoadAverageSampler( CentralProcessor processor, LinuxProcReader procReader ) {
+		this.processor			= processor;
+		this.procReader			= procReader;
+		this.nextLoadAverages	= new double[ AVERAGES ];
+		run();
+	}
+
+	/**
+	 * Take a sample of the load averages.
+	 */
+	@Override
+	public void run() {
+		double[]		averages	= this.nextLoadAverages;
+		LinuxProcReader	reader		= this.procReader;
+		if ( reader != null && !reader.readLoadAverage( averages ) ) {
+			// Fall back to OSHI for good
+			this.procReader	= null;
+			reader			= null;
+		}
+		if ( reader == null ) {
+			averages = this.processor.getSystemLoadAverage( AVERAGES );
+		}
+
+		// Publish the averages and reuse the previously published buffer for the next sample
+		double[] published = this.loadAverages;
+		this.loadAverages		= averages;
+		this.nextLoadAverages	= published != null && published != averages ? published : new double[ AVERAGES ];
+	}
+
+	/**
+	 * Get the latest load averages.
+	 * <p>
+	 * The returned array is shared with the sampler: copy the values out right away and do not modify it.
+	 *
+	 * @return The 1, 5 and 15 minute load averages, negative if not available on this platform (e.g. Windows)
+	 */
+	public double[] getLoadAverages() {
+		return this.loadAverages;
+	}
+
+}
@@ -0,0 +1,223 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import ortus.boxlang.runtime.dynamic.casters.LongCaster;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+
+/**
+ * A small TTL cache for the values read from OSHI, with one TTL per metric family.
+ * <p>
+ * Each cached value is refreshed under a single-flight guard: when the value expires, only one caller runs the
+ * native query while the others wait for its result, so a burst of concurrent calls triggers a single query.
+ * A TTL of <code>0</code> disables the cache for that family.
+ * <p>
+ * Keys can come from the caller (e.g. a CPU measurement interval), so each loader keeps at most
+ * {@link #MAX_KEYS_PER_LOADER} values: when it is full the expired values are evicted, and a new key is loaded
+ * without caching it if none expired.
+ */
+public class MetricCache {
+
+	/**
+	 * The metric families that can be cached, with their setting name and default TTL in milliseconds
+	 */
+	public enum Family {
+
+		MEMORY( "memory", 1000L ),
+		DISK( "disk", 5000L ),
+		CPU( "cpu", 1000L );
+
+		private final Key	settingKey;
+		private final long	defaultTTL;
+
+		Family( String settingName, long defaultTTL ) {
+			this.settingKey	= Key.of( settingName );
+			this.defaultTTL	= defaultTTL;
+		}
+
+		/**
+		 * The key of the family TTL in the <code>cache</code> module settings
+		 *
+		 * @return The setting key
+		 */
+		public Key getSettingKey() {
+			return this.settingKey;
+		}
+
+		/**
+		 * The default TTL of the family in milliseconds
+		 *
+		 * @return The default TTL
+		 */
+		public long getDefaultTTL() {
+			return this.defaultTTL;
+		}
+	}
+
+	/**
+	 * The maximum number of cached values per loader
+	 */
+	public static final int											MAX_KEYS_PER_LOADER	= 64;
+
+	/**
+	 * The TTL in nanoseconds of each family, indexed by ordinal
+	 */
+	private final long[]											ttls;
+
+	/**
+	 * The cached values, grouped by loader and then by key
+	 */
+	private final Map<Function<?, ?>, Map<Object, CachedValue<?>>>	entries				= new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor
+	 *
+	 * @param settings The <code>cache</code> module settings, can be null to use the defaults
+	 */
+	public MetricCache( IStruct settings ) {
+		Family[] families = Family.values();
+		this.ttls = new long[ families.length ];
+		for ( Family family : families ) {
+			Object ttl = settings == null ? null : settings.get( family.getSettingKey() );
+			this.ttls[ family.ordinal() ] = TimeUnit.MILLISECONDS.toNanos( ttl == null ? family.getDefaultTTL() : LongCaster.cast( ttl ) );
+		}
+	}
+
+	/**
+	 * Get a cached value that has no key, loading it if it is missing or expired.
+	 *
+	 * @param family The metric family, which determines the TTL
+	 * @param loader The loader of the value, receives the family
+	 *
+	 * @return The cached or freshly loaded value
+	 */
+	public <V> V get( Family family, Function<Family, V> loader ) {
+		return get( family, family, loader );
+	}
+
+	/**
+	 * Get a cached value, loading it if it is missing or expired.
+	 *
+	 * @param family The metric family, which determines the TTL
+	 * @param key    The key of the value for the loader
+	 * @param loader The loader of the value, receives the key. Loaders should be long-lived instances since they
+	 *               identify the cached values.
+	 *
+	 * @return The cached or freshly loaded value
+	 */
+	@SuppressWarnings( "unchecked" )
+	public <K, V> V get( Family family, K key, Function<K, V> loader ) {
+		long ttl = this.ttls[ family.ordinal() ];
+		if ( ttl <= 0 ) {
+			return loader.apply( key );
+		}
+		Map<Object, CachedValue<?>> values = this.entries.get( loader );
+		if ( values == null ) {
+			values = this.entries.computeIfAbsent( loader, l -> new ConcurrentHashMap<>() );
+		}
+		CachedValue<V> cached = ( CachedValue<V> ) values.get( key );
+		if ( cached == null ) {
+			if ( values.size() >= MAX_KEYS_PER_LOADER ) {
+				values.values().removeIf( CachedValue::isExpired );
+				if ( values.size() >= MAX_KEYS_PER_LOADER ) {
+					return loader.apply( key );
+				}
+			}
+			cached = ( CachedValue<V> ) values.computeIfAbsent( key, k -> new CachedValue<>( ttl ) );
+		}
+		try {
+			return cached.get( key, loader );
+		} catch ( RuntimeException e ) {
+			// Only keep the entries of successful loads, so unknown keys (e.g. user supplied paths) can't grow the map
+			values.remove( key, cached );
+			throw e;
+		}
+	}
+
+	/**
+	 * Get the TTL of a family
+	 *
+	 * @param family The metric family
+	 *
+	 * @return The TTL in milliseconds
+	 */
+	public long getTTL( Family family ) {
+		return TimeUnit.NANOSECONDS.toMillis( this.ttls[ family.ordinal() ] );
+	}
+
+	/**
+	 * Evict all the cached values
+	 */
+	public void clear() {
+		this.entries.clear();
+	}
+
+	/**
+	 * A single cached value with its expiration
+	 */
+	private static final class CachedValue<V> {
+
+		/**
+		 * The value and the nano time it expires at, published together
+		 */
+		private record Entry<V>( V value, long expiresAt ) {
+		}
+
+		private final long				ttl;
+		private final ReentrantLock		lock	= new ReentrantLock();
+		private volatile Entry<V>		entry;
+
+		CachedValue( long ttl ) {
+			this.ttl = ttl;
+		}
+
+		boolean isExpired() {
+			Entry<V> current = this.entry;
+			return current != null && System.nanoTime() - current.expiresAt() >= 0;
+		}
+
+		<K> V get( K key, Function<K, V> loader ) {
+			Entry<V> current = this.entry;
+			if ( current != null && System.nanoTime() - current.expiresAt() < 0 ) {
+				return current.value();
+			}
+
+			// Single-flight: only one caller refreshes, the rest wait and reuse its result
+			this.lock.lock();
+			try {
+				current = this.entry;
+				if ( current != null && System.nanoTime() - current.expiresAt() < 0 ) {
+					return current.value();
+				}
+				V value = loader.apply( key );
+				this.entry = new Entry<>( value, System.nanoTime() + this.ttl );
+				return value;
+			} finally {
+				this.lock.unlock();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,232 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * A fixed-size, in-memory history of the module metrics, filled by the module sampler.
+ * <p>
+ * Every sample stores one timestamp and one value per tracked metric in primitive ring buffers, so the memory
+ * used is constant whatever the uptime and sampling does not box. Only the sampler thread writes; readers copy
+ * the slots they need and drop the ones that were overwritten while they read.
+ * <p>
+ * A metric that fails to read is stored as <code>NaN</code> and left out of its samples, so it does not hold back
+ * the history of the other metrics.
+ */
+public class MetricHistory implements Runnable {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger		logger	= LoggerFactory.getLogger( MetricHistory.class );
+
+	/**
+	 * The OSHI service to read the metrics from
+	 */
+	private final OshiService		oshi;
+
+	/**
+	 * The tracked metrics
+	 */
+	private final SystemMetric[]	metrics;
+
+	/**
+	 * The index of each metric in the values buffers, -1 if not tracked
+	 */
+	private final int[]				metricIndex;
+
+	/**
+	 * The volume path for the space metrics, null if they are not tracked
+	 */
+	private final String			path;
+
+	/**
+	 * The number of samples kept
+	 */
+	private final int				capacity;
+
+	/**
+	 * The sample timestamps in epoch milliseconds
+	 */
+	private final long[]			timestamps;
+
+	/**
+	 * The sample values, indexed by metric and then by slot
+	 */
+	private final double[][]		values;
+
+	/**
+	 * Whether each metric failed on the last sample, so a failure is logged once and not on every sample
+	 */
+	private final boolean[]			failing;
+
+	/**
+	 * The number of samples ever written, publishes the slots to the readers
+	 */
+	private volatile long			count	= 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param oshi     The OSHI service to read the metrics from
+	 * @param capacity The number of samples to keep per metric
+	 * @param path     The volume path to track the space metrics for, or null to not track them
+	 */
+	public MetricHistory( OshiService oshi, int capacity, String path ) {
+		if ( capacity <= 0 ) {
+			throw new BoxRuntimeException( "The metric history size must be greater than 0" );
+		}
+		List<SystemMetric> tracked = new ArrayList<>();
+		for ( SystemMetric metric : SystemMetric.values() ) {
+			if ( path != null || !metric.requiresPath() ) {
+				tracked.add( metric );
+			}
+		}
+
+		this.oshi			= oshi;
+		this.path			= path;
+		this.capacity		= capacity;
+		this.metrics		= tracked.toArray( new SystemMetric[ 0 ] );
+		this.metricIndex	= new int[ SystemMetric.values().length ];
+		this.timestamps		= new long[ capacity ];
+		this.values			= new double[ this.metrics.length ][ capacity ];
+		this.failing		= new boolean[ this.metrics.length ];
+
+		Arrays.fill( this.metricIndex, -1 );
+		for ( int i = 0; i < this.metrics.length; i++ ) {
+			this.metricIndex[ this.metrics[ i ].ordinal() ] = i;
+		}
+	}
+
+	/**
+	 * Record a sample of every tracked metric.
+	 */
+	@Override
+	public void run() {
+		long	next	= this.count;
+		int		slot	= ( int ) ( next % this.capacity );
+
+		this.timestamps[ slot ] = System.currentTimeMillis();
+		for ( int i = 0; i < this.metrics.length; i++ ) {
+			this.values[ i ][ slot ] = readMetric( i );
+		}
+		// Publish the slot
+		this.count = next + 1;
+	}
+
+	/**
+	 * Read a tracked metric, as <code>NaN</code> if it can't be read, e.g. when the <code>history.path</code>
+	 * volume is not mounted
+	 *
+	 * @param index The index of the metric
+	 *
+	 * @return The value
+	 */
+	private double readMetric( int index ) {
+		SystemMetric metric = this.metrics[ index ];
+		try {
+			double value = metric.readAsDouble( this.oshi, this.path );
+			this.failing[ index ] = false;
+			return value;
+		} catch ( RuntimeException e ) {
+			if ( !this.failing[ index ] ) {
+				this.failing[ index ] = true;
+				logger.warn( "Unable to read the metric [{}] for the metric history, its samples are skipped until it recovers",
+				    metric.getKey().getName(), e );
+			}
+			return Double.NaN;
+		}
+	}
+
+	/**
+	 * Whether a metric is tracked by the history
+	 *
+	 * @param metric The metric
+	 *
+	 * @return True if tracked
+	 */
+	public boolean isTracked( SystemMetric metric ) {
+		return this.metricIndex[ metric.ordinal() ] >= 0;
+	}
+
+	/**
+	 * Get the samples of a metric, oldest first.
+	 *
+	 * @param metric The metric
+	 * @param since  Only return the samples taken after this epoch millisecond
+	 * @param limit  The maximum number of samples to return, the most recent ones are kept. 0 means no limit
+	 *
+	 * @return An array of structs with the <code>timestamp</code> and the <code>value</code> of each sample
+	 */
+	public Array getSamples( SystemMetric metric, long since, int limit ) {
+		int index = this.metricIndex[ metric.ordinal() ];
+		if ( index < 0 ) {
+			throw new BoxRuntimeException( "The metric [" + metric.getKey().getName() + "] is not tracked by the metric history" );
+		}
+
+		long	end		= this.count;
+		long	start	= Math.max( 0, end - this.capacity );
+		if ( limit > 0 ) {
+			start = Math.max( start, end - limit );
+		}
+
+		int			length		= ( int ) ( end - start );
+		long[]		sampleTimes	= new long[ length ];
+		double[]	sampleData	= new double[ length ];
+		for ( int i = 0; i < length; i++ ) {
+			int slot = ( int ) ( ( start + i ) % this.capacity );
+			sampleTimes[ i ]	= this.timestamps[ slot ];
+			sampleData[ i ]		= this.values[ index ][ slot ];
+		}
+
+		// Drop the samples the sampler overwrote while we were copying
+		long	firstValid	= this.count - this.capacity + 1;
+		Array	result		= new Array( length );
+		for ( int i = 0; i < length; i++ ) {
+			if ( start + i < firstValid || sampleTimes[ i ] <= since || Double.isNaN( sampleData[ i ] ) ) {
+				continue;
+			}
+			result.add( Struct.of(
+			    KeyDictionary.timestamp, sampleTimes[ i ],
+			    KeyDictionary.value, sampleData[ i ]
+			) );
+		}
+		return result;
+	}
+
+	/**
+	 * Get the number of samples kept per metric
+	 *
+	 * @return The capacity
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+}
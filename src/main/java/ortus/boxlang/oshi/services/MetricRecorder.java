@@ -0,0 +1,410 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * A crash-safe recording of the module metrics, for post-mortem analysis: the module sampler appends fixed-width
+ * binary records to memory-mapped segment files, rotated by size.
+ * <p>
+ * The mapped pages belong to the operating system, so the records written before a JVM crash are in the file. A
+ * segment starts with a header describing the record layout, followed by records of one epoch millisecond
+ * timestamp and one <code>double</code> per {@link SystemMetric}, <code>NaN</code> when a metric can't be read.
+ * Only the sampler thread writes, so appending needs no lock and costs one store per field. The timestamp is stored
+ * last with release semantics: a record with a zero timestamp is incomplete and marks the end of the segment.
+ * {@link #close()} never releases the mapping under a writer: it only flushes the current segment and marks the
+ * recorder closed, and the mapping is released with the buffer once the recorder is unreachable.
+ * <p>
+ * {@link #read(Path, long, long)} scans the records in place and only builds structs for the ones in range. A
+ * recording directory is read even if a segment is corrupted or truncated, e.g. by the crash, the bad segments are
+ * logged and skipped.
+ */
+public class MetricRecorder implements Runnable {
+
+	/**
+	 * The name prefix and extension of the segment files, the name holds the creation epoch millisecond and a
+	 * sequence number so the segments sort by age
+	 */
+	public static final String			FILE_PREFIX		= "metrics-";
+	public static final String			FILE_EXTENSION	= ".oshirec";
+
+	/**
+	 * The segment header: magic, format version, record size, metric count, then the comma separated metric names
+	 */
+	private static final long			MAGIC			= 0x42584F5348495243L;
+	private static final int			VERSION			= 1;
+	private static final int			HEADER_SIZE		= 256;
+	private static final int			NAMES_OFFSET	= 24;
+
+	/**
+	 * Ordered 8 byte access to the timestamps, so a reader never sees a timestamp before the values of its record
+	 */
+	private static final VarHandle		TIMESTAMP		= MethodHandles.byteBufferViewVarHandle( long[].class, ByteOrder.BIG_ENDIAN );
+
+	/**
+	 * Logger
+	 */
+	private static final Logger			logger			= LoggerFactory.getLogger( MetricRecorder.class );
+
+	/**
+	 * The OSHI service to read the metrics from
+	 */
+	private final OshiService			oshi;
+
+	/**
+	 * The directory of the segment files
+	 */
+	private final Path					directory;
+
+	/**
+	 * The volume path for the space metrics, null to record them as <code>NaN</code>
+	 */
+	private final String				path;
+
+	/**
+	 * The size in bytes of a segment file
+	 */
+	private final int					segmentSize;
+
+	/**
+	 * The number of segment files to keep
+	 */
+	private final int					maxSegments;
+
+	/**
+	 * The recorded metrics, in record order
+	 */
+	private final SystemMetric[]		metrics			= SystemMetric.values();
+
+	/**
+	 * The size in bytes of a record
+	 */
+	private final int					recordSize		= Long.BYTES + this.metrics.length * Double.BYTES;
+
+	/**
+	 * The mapped segment being written, null before the first sample. Published for {@link #close()}.
+	 */
+	private volatile MappedByteBuffer	segment;
+
+	/**
+	 * The offset of the next record in the segment, only used by the sampler thread
+	 */
+	private int							position;
+
+	/**
+	 * The sequence number of the next segment, so two segments created in the same millisecond get different names
+	 */
+	private int							sequence;
+
+	/**
+	 * Whether the recorder was closed, so a sample still queued on the sampler doesn't map a new segment
+	 */
+	private volatile boolean			closed;
+
+	/**
+	 * Constructor
+	 *
+	 * @param oshi        The OSHI service to read the metrics from
+	 * @param directory   The directory of the segment files, created if needed
+	 * @param segmentSize The size in bytes of a segment file before rotating to a new one
+	 * @param maxSegments The number of segment files to keep, the oldest are deleted
+	 * @param path        The volume path to record the space metrics for, or null to not record them
+	 */
+	public MetricRecorder( OshiService oshi, Path directory, long segmentSize, int maxSegments, String path ) {
+		if ( segmentSize < HEADER_SIZE + this.recordSize || segmentSize > Integer.MAX_VALUE ) {
+			throw new BoxRuntimeException(
+			    "The metric recording segment size must be between " + ( HEADER_SIZE + this.recordSize ) + " and " + Integer.MAX_VALUE + " bytes" );
+		}
+		if ( maxSegments < 1 ) {
+			throw new BoxRuntimeException( "The metric recording must keep at least 1 segment" );
+		}
+		this.oshi			= oshi;
+		this.directory		= directory;
+		this.segmentSize	= ( int ) segmentSize;
+		this.maxSegments	= maxSegments;
+		this.path			= path;
+		try {
+			Files.createDirectories( directory );
+		} catch ( IOException e ) {
+			throw new BoxRuntimeException( "Unable to create the metric recording directory [" + directory + "]", e );
+		}
+	}
+
+	/**
+	 * Append a record of every metric, rotating to a new segment when the current one is full.
+	 */
+	@Override
+	public void run() {
+		if ( this.closed ) {
+			return;
+		}
+		// Read the segment once, the record goes to that mapping even if close() runs meanwhile
+		MappedByteBuffer	current	= this.segment;
+		int					offset	= this.position;
+		if ( current == null || offset + this.recordSize > this.segmentSize ) {
+			current	= rotate();
+			offset	= HEADER_SIZE;
+		}
+		for ( int i = 0; i < this.metrics.length; i++ ) {
+			current.putDouble( offset + Long.BYTES + i * Double.BYTES, readMetric( this.metrics[ i ] ) );
+		}
+		// Commit the record
+		TIMESTAMP.setRelease( current, offset, System.currentTimeMillis() );
+		this.position = offset + this.recordSize;
+	}
+
+	/**
+	 * Flush the current segment to the storage and stop recording. Called when the service shuts down. A sample in
+	 * progress still writes to the mapped segment, which stays valid, so nothing is released under it.
+	 */
+	public void close() {
+		this.closed = true;
+		MappedByteBuffer current = this.segment;
+		if ( current != null ) {
+			current.force();
+		}
+	}
+
+	/**
+	 * Get the directory of the segment files
+	 *
+	 * @return The directory
+	 */
+	public Path getDirectory() {
+		return this.directory;
+	}
+
+	/**
+	 * Read the records of a segment file, or of every segment of a recording directory oldest first, in a time range.
+	 *
+	 * @param file The segment file or the recording directory
+	 * @param from Only return the records taken at or after this epoch millisecond
+	 * @param to   Only return the records taken at or before this epoch millisecond
+	 *
+	 * @return An array of structs with the <code>timestamp</code> and the value of each metric of a record. The metrics
+	 *         that could not be read are not in the struct.
+	 *
+	 * @throws BoxRuntimeException If the file is not a metric recording or can't be read. The bad segments of a
+	 *                             directory are skipped instead.
+	 */
+	public static Array read( Path file, long from, long to ) {
+		Array result = new Array();
+		if ( Files.isDirectory( file ) ) {
+			for ( Path segment : listSegments( file ) ) {
+				try {
+					readSegment( segment, from, to, result );
+				} catch ( BoxRuntimeException e ) {
+					// A segment corrupted or truncated by the crash must not hide the others
+					logger.warn( "Skipping the metric recording segment [{}]: {}", segment, e.getMessage() );
+				}
+			}
+		} else {
+			readSegment( file, from, to, result );
+		}
+		return result;
+	}
+
+	/**
+	 * Read the records of a segment file in a time range
+	 *
+	 * @param file   The segment file
+	 * @param from   The first epoch millisecond to return
+	 * @param to     The last epoch millisecond to return
+	 * @param result The array to add the records to
+	 */
+	private static void readSegment( Path file, long from, long to, Array result ) {
+		try ( FileChannel channel = FileChannel.open( file, StandardOpenOption.READ ) ) {
+			long size = channel.size();
+			if ( size < HEADER_SIZE || size > Integer.MAX_VALUE ) {
+				throw new BoxRuntimeException( "The file [" + file + "] is not a metric recording" );
+			}
+			MappedByteBuffer buffer = channel.map( MapMode.READ_ONLY, 0, size );
+			if ( buffer.getLong( 0 ) != MAGIC ) {
+				throw new BoxRuntimeException( "The file [" + file + "] is not a metric recording" );
+			}
+			if ( buffer.getInt( 8 ) != VERSION ) {
+				throw new BoxRuntimeException( "The metric recording [" + file + "] has an unsupported version [" + buffer.getInt( 8 ) + "]" );
+			}
+			int		recordSize	= buffer.getInt( 12 );
+			Key[]	keys		= readMetricKeys( file, buffer );
+			// A record size that doesn't match the metrics would misread the records, or never advance when zero
+			if ( recordSize != Long.BYTES + keys.length * Double.BYTES ) {
+				throw new BoxRuntimeException( "The metric recording [" + file + "] has an invalid record size [" + recordSize + "]" );
+			}
+
+			// Scan the timestamps in place, only the records in range are turned into structs
+			for ( int offset = HEADER_SIZE; offset + recordSize <= size; offset += recordSize ) {
+				long timestamp = ( long ) TIMESTAMP.getAcquire( buffer, offset );
+				if ( timestamp == 0 ) {
+					break;
+				}
+				if ( timestamp < from || timestamp > to ) {
+					continue;
+				}
+				IStruct record = new Struct( IStruct.TYPES.LINKED );
+				record.put( KeyDictionary.timestamp, timestamp );
+				for ( int i = 0; i < keys.length; i++ ) {
+					double value = buffer.getDouble( offset + Long.BYTES + i * Double.BYTES );
+					if ( !Double.isNaN( value ) ) {
+						record.put( keys[ i ], value );
+					}
+				}
+				result.add( record );
+			}
+		} catch ( IOException e ) {
+			throw new BoxRuntimeException( "Unable to read the metric recording [" + file + "]", e );
+		}
+	}
+
+	/**
+	 * Read the metric names of a segment header
+	 *
+	 * @param file   The segment file, for the error message
+	 * @param buffer The segment
+	 *
+	 * @return The metric keys, in record order
+	 *
+	 * @throws BoxRuntimeException If the names don't fit the header or don't match the metric count
+	 */
+	private static Key[] readMetricKeys( Path file, ByteBuffer buffer ) {
+		int	count		= buffer.getInt( 16 );
+		int	namesLength	= buffer.getInt( 20 );
+		if ( count < 1 || namesLength < 1 || namesLength > HEADER_SIZE - NAMES_OFFSET ) {
+			throw new BoxRuntimeException( "The metric recording [" + file + "] has an invalid header" );
+		}
+		byte[] names = new byte[ namesLength ];
+		buffer.get( NAMES_OFFSET, names );
+		String[] split = new String( names, StandardCharsets.US_ASCII ).split( "," );
+		if ( split.length != count ) {
+			throw new BoxRuntimeException( "The metric recording [" + file + "] has an invalid header" );
+		}
+		Key[] keys = new Key[ count ];
+		for ( int i = 0; i < keys.length; i++ ) {
+			keys[ i ] = Key.of( split[ i ] );
+		}
+		return keys;
+	}
+
+	/**
+	 * List the segment files of a recording directory, oldest first
+	 *
+	 * @param directory The recording directory
+	 *
+	 * @return The segment files
+	 */
+	private static List<Path> listSegments( Path directory ) {
+		try ( Stream<Path> files = Files.list( directory ) ) {
+			return files
+			    .filter( file -> {
+				    String name = file.getFileName().toString();
+				    return name.startsWith( FILE_PREFIX ) && name.endsWith( FILE_EXTENSION );
+			    } )
+			    .sorted()
+			    .toList();
+		} catch ( IOException e ) {
+			throw new BoxRuntimeException( "Unable to list the metric recording [" + directory + "]", e );
+		}
+	}
+
+	/**
+	 * Read a metric, as <code>NaN</code> if it can't be read
+	 *
+	 * @param metric The metric
+	 *
+	 * @return The value
+	 */
+	private double readMetric( SystemMetric metric ) {
+		if ( metric.requiresPath() && this.path == null ) {
+			return Double.NaN;
+		}
+		try {
+			return metric.readAsDouble( this.oshi, this.path );
+		} catch ( BoxRuntimeException e ) {
+			return Double.NaN;
+		}
+	}
+
+	/**
+	 * Map a new segment file, write its header and delete the segments over the limit
+	 *
+	 * @return The new segment
+	 */
+	private MappedByteBuffer rotate() {
+		MappedByteBuffer	next	= null;
+		Path				file	= null;
+		long				now		= System.currentTimeMillis();
+		while ( next == null ) {
+			// The sequence keeps the names unique and sorted within a millisecond, and skips the names of a previous run
+			file = this.directory.resolve( FILE_PREFIX + now + "-" + String.format( "%06d", this.sequence++ ) + FILE_EXTENSION );
+			try ( FileChannel channel = FileChannel.open( file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE ) ) {
+				next = channel.map( MapMode.READ_WRITE, 0, this.segmentSize );
+			} catch ( FileAlreadyExistsException e ) {
+				// Created in the same millisecond, try the next sequence number
+			} catch ( IOException e ) {
+				throw new BoxRuntimeException( "Unable to create the metric recording segment [" + file + "]", e );
+			}
+		}
+
+		byte[] names = String.join( ",", Stream.of( this.metrics ).map( metric -> metric.getKey().getName() ).toList() )
+		    .getBytes( StandardCharsets.US_ASCII );
+		next.putLong( 0, MAGIC );
+		next.putInt( 8, VERSION );
+		next.putInt( 12, this.recordSize );
+		next.putInt( 16, this.metrics.length );
+		next.putInt( 20, names.length );
+		next.put( NAMES_OFFSET, names );
+		this.segment	= next;
+		this.position	= HEADER_SIZE;
+
+		List<Path> segments = listSegments( this.directory );
+		for ( int i = 0; i < segments.size() - this.maxSegments; i++ ) {
+			try {
+				Files.deleteIfExists( segments.get( i ) );
+			} catch ( IOException e ) {
+				logger.warn( "Unable to delete the metric recording segment [{}]", segments.get( i ), e );
+			}
+		}
+		return next;
+	}
+
+}
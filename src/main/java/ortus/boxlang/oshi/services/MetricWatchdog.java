@@ -0,0 +1,290 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.dynamic.casters.DoubleCaster;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * Evaluates the registered metric alerts on the module sampler cadence and announces interceptor events when a
+ * threshold is crossed, so applications can listen for trouble instead of polling the metrics themselves.
+ * <p>
+ * An alert fires once when its metric stays past the threshold for the alert duration, announcing
+ * <code>onSystemMetricThreshold</code>, and announces <code>onSystemMetricRecovery</code> once the metric is back.
+ * Alerts come from the <code>alerts</code> module setting or are registered at runtime with
+ * <code>registerMetricAlert()</code>. Registering an alert with an existing name replaces it, and
+ * <code>unregisterMetricAlert()</code> removes it.
+ * <p>
+ * The events are announced in order on the module's async executor, not on the module sampler, so a slow listener
+ * can't stall the other sampler tasks.
+ */
+public class MetricWatchdog implements Runnable {
+
+	/**
+	 * The event announced when an alert fires
+	 */
+	public static final Key						ON_SYSTEM_METRIC_THRESHOLD	= Key.of( "onSystemMetricThreshold" );
+
+	/**
+	 * The event announced when a fired alert recovers
+	 */
+	public static final Key						ON_SYSTEM_METRIC_RECOVERY	= Key.of( "onSystemMetricRecovery" );
+
+	/**
+	 * Logger
+	 */
+	private static final Logger					logger						= LoggerFactory.getLogger( MetricWatchdog.class );
+
+	/**
+	 * The OSHI service to read the metrics from
+	 */
+	private final OshiService					oshi;
+
+	/**
+	 * The registered alerts by name
+	 */
+	private final Map<Key, Alert>				alerts						= new ConcurrentHashMap<>();
+
+	/**
+	 * The last announcement, each event is chained to the previous one so the listeners get them in order
+	 */
+	private volatile CompletableFuture<Void>	announcements				= CompletableFuture.completedFuture( null );
+
+	/**
+	 * A registered alert and its evaluation state. The state is only touched while evaluating, under the watchdog lock.
+	 */
+	private static final class Alert {
+
+		private final Key			name;
+		private final SystemMetric	metric;
+		private final boolean		above;
+		private final double		threshold;
+		private final long			duration;
+		private final String		path;
+		private boolean				breached;
+		private long				breachedSince;
+		private boolean				firing;
+
+		Alert( Key name, SystemMetric metric, boolean above, double threshold, long duration, String path ) {
+			this.name		= name;
+			this.metric		= metric;
+			this.above		= above;
+			this.threshold	= threshold;
+			this.duration	= duration;
+			this.path		= path;
+		}
+
+		IStruct toStruct() {
+			IStruct result = new Struct( IStruct.TYPES.LINKED );
+			result.put( Key._NAME, this.name.getName() );
+			result.put( KeyDictionary.metric, this.metric.getKey().getName() );
+			result.put( KeyDictionary.operator, this.above ? "gt" : "lt" );
+			result.put( KeyDictionary.threshold, this.threshold );
+			result.put( KeyDictionary.duration, this.duration );
+			if ( this.path != null ) {
+				result.put( Key.path, this.path );
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param oshi   The OSHI service to read the metrics from
+	 * @param alerts The alerts from the <code>alerts</code> module setting, can be null. Invalid alerts are logged and
+	 *               skipped, so a configuration mistake does not stop the module.
+	 */
+	public MetricWatchdog( OshiService oshi, Array alerts ) {
+		this.oshi = oshi;
+		BoxRuntime.getInstance().getInterceptorService().registerInterceptionPoint( ON_SYSTEM_METRIC_THRESHOLD, ON_SYSTEM_METRIC_RECOVERY );
+		if ( alerts != null ) {
+			for ( Object alert : alerts ) {
+				if ( ! ( alert instanceof IStruct definition ) ) {
+					logger.error( "Skipping the bx-oshi metric alert [{}]: the [alerts] module setting must be an array of structs", alert );
+					continue;
+				}
+				try {
+					register( definition );
+				} catch ( RuntimeException e ) {
+					logger.error( "Skipping the invalid bx-oshi metric alert {}: {}", definition, e.getMessage() );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Register an alert from its struct definition: <code>name</code>, <code>metric</code>, <code>threshold</code>,
+	 * and optionally <code>operator</code> (<code>gt</code> or <code>lt</code>, default <code>gt</code>),
+	 * <code>duration</code> in milliseconds (default 0) and <code>path</code> for the space metrics.
+	 *
+	 * @param definition The alert definition
+	 *
+	 * @return The registered alert as a struct
+	 */
+	public IStruct register( IStruct definition ) {
+		Object threshold = definition.get( KeyDictionary.threshold );
+		if ( threshold == null ) {
+			throw new BoxRuntimeException( "The metric alert [threshold] is required" );
+		}
+		return register(
+		    OshiService.getString( definition, Key._NAME, null ),
+		    OshiService.getString( definition, KeyDictionary.metric, null ),
+		    OshiService.getString( definition, KeyDictionary.operator, "gt" ),
+		    DoubleCaster.cast( threshold ),
+		    OshiService.getLong( definition, KeyDictionary.duration, 0L ),
+		    OshiService.getString( definition, Key.path, null )
+		);
+	}
+
+	/**
+	 * Register an alert
+	 *
+	 * @param name      The alert name
+	 * @param metric    The metric name, see {@link SystemMetric}
+	 * @param operator  <code>gt</code> to fire above the threshold or <code>lt</code> to fire below it
+	 * @param threshold The threshold, in the unit of the metric
+	 * @param duration  How long in milliseconds the metric must stay past the threshold before firing
+	 * @param path      The volume path for the space metrics, can be null otherwise
+	 *
+	 * @return The registered alert as a struct
+	 *
+	 * @throws BoxRuntimeException If the alert is invalid
+	 */
+	public IStruct register( String name, String metric, String operator, double threshold, long duration, String path ) {
+		if ( name == null || name.isEmpty() ) {
+			throw new BoxRuntimeException( "The metric alert [name] is required" );
+		}
+		if ( metric == null ) {
+			throw new BoxRuntimeException( "The metric alert [" + name + "] has no [metric]" );
+		}
+		SystemMetric systemMetric = SystemMetric.of( metric );
+		if ( systemMetric.requiresPath() && path == null ) {
+			throw new BoxRuntimeException( "The metric alert [" + name + "] on [" + metric + "] requires a [path]" );
+		}
+		if ( !"gt".equalsIgnoreCase( operator ) && !"lt".equalsIgnoreCase( operator ) ) {
+			throw new BoxRuntimeException( "The metric alert [" + name + "] operator must be [gt] or [lt], got [" + operator + "]" );
+		}
+
+		Alert alert = new Alert( Key.of( name ), systemMetric, "gt".equalsIgnoreCase( operator ), threshold, Math.max( 0, duration ), path );
+		this.alerts.put( alert.name, alert );
+		return alert.toStruct();
+	}
+
+	/**
+	 * Remove an alert. It stops being evaluated, and no recovery event is announced if it was firing.
+	 *
+	 * @param name The alert name
+	 *
+	 * @return True if the alert was registered
+	 */
+	public boolean unregister( String name ) {
+		return this.alerts.remove( Key.of( name ) ) != null;
+	}
+
+	/**
+	 * Evaluate every alert against the current metric values.
+	 */
+	@Override
+	public synchronized void run() {
+		if ( this.alerts.isEmpty() ) {
+			return;
+		}
+		long now = System.nanoTime();
+		for ( Alert alert : this.alerts.values() ) {
+			try {
+				evaluate( alert, now );
+			} catch ( RuntimeException e ) {
+				// One bad alert (e.g. an unmounted path) must not stop the others
+				logger.warn( "Error evaluating the bx-oshi metric alert [{}]", alert.name.getName(), e );
+			}
+		}
+	}
+
+	/**
+	 * Evaluate an alert and announce its transitions
+	 *
+	 * @param alert The alert
+	 * @param now   The current nano time
+	 */
+	private void evaluate( Alert alert, long now ) {
+		double	value		= alert.metric.readAsDouble( this.oshi, alert.path );
+		boolean	breached	= alert.above ? value > alert.threshold : value < alert.threshold;
+
+		if ( !breached ) {
+			alert.breached = false;
+			if ( alert.firing ) {
+				alert.firing = false;
+				announce( ON_SYSTEM_METRIC_RECOVERY, alert, value );
+			}
+			return;
+		}
+
+		if ( !alert.breached ) {
+			alert.breached		= true;
+			alert.breachedSince	= now;
+		}
+		if ( !alert.firing && now - alert.breachedSince >= TimeUnit.MILLISECONDS.toNanos( alert.duration ) ) {
+			alert.firing = true;
+			announce( ON_SYSTEM_METRIC_THRESHOLD, alert, value );
+		}
+	}
+
+	/**
+	 * Wait for the events announced so far to reach their listeners
+	 */
+	public void awaitAnnouncements() {
+		this.announcements.join();
+	}
+
+	/**
+	 * Announce an alert event through the runtime interceptor service, after the previous events
+	 *
+	 * @param event The event
+	 * @param alert The alert
+	 * @param value The current metric value
+	 */
+	private void announce( Key event, Alert alert, double value ) {
+		IStruct data = alert.toStruct();
+		data.put( KeyDictionary.value, value );
+		data.put( KeyDictionary.timestamp, System.currentTimeMillis() );
+		this.announcements = this.announcements.thenRunAsync( () -> {
+			try {
+				BoxRuntime.getInstance().getInterceptorService().announce( event, data );
+			} catch ( RuntimeException e ) {
+				// A failing listener must not break the chain of the next events
+				logger.error( "Error announcing the bx-oshi metric alert event [{}]", event.getName(), e );
+			}
+		}, this.oshi.getAsyncExecutor() );
+	}
+
+}
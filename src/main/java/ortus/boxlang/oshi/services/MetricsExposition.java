@@ -0,0 +1,332 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import ortus.boxlang.oshi.services.VolumeIndex.Space;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * Writes the module metrics in the Prometheus text or OpenMetrics exposition format.
+ * <p>
+ * The metric names, help and type lines and the label sets are encoded once, and every scrape writes them and the
+ * values straight into a reusable byte buffer, so a scrape costs the final copy into a string instead of building
+ * structs and strings per metric.
+ */
+public class MetricsExposition {
+
+	/**
+	 * The supported exposition formats
+	 */
+	public enum Format {
+
+		OPENMETRICS,
+		PROMETHEUS;
+
+		/**
+		 * Find a format by name
+		 *
+		 * @param name The format name, case-insensitive
+		 *
+		 * @return The format
+		 */
+		public static Format of( String name ) {
+			try {
+				return valueOf( name.toUpperCase() );
+			} catch ( IllegalArgumentException e ) {
+				throw new BoxRuntimeException( "Unknown exposition format [" + name + "]. Valid formats are: " + Arrays.toString( values() ) );
+			}
+		}
+	}
+
+	/**
+	 * A gauge metric family with its pre-encoded header and name
+	 *
+	 * @param header The <code># HELP</code> and <code># TYPE</code> lines
+	 * @param name   The metric name
+	 */
+	private record Gauge( byte[] header, byte[] name ) {
+
+		Gauge( String name, String help ) {
+			this(
+			    ( "# HELP " + name + " " + help + "\n# TYPE " + name + " gauge\n" ).getBytes( StandardCharsets.UTF_8 ),
+			    name.getBytes( StandardCharsets.UTF_8 )
+			);
+		}
+	}
+
+	private static final Gauge				CPU_USAGE				= new Gauge( "bx_oshi_cpu_usage_ratio",
+	    "The system CPU usage between 0 and 1" );
+	private static final Gauge				PROCESSOR_CPU_USAGE		= new Gauge( "bx_oshi_cpu_processor_usage_ratio",
+	    "The CPU usage between 0 and 1 of each logical processor" );
+	private static final Gauge				SYSTEM_MEMORY_AVAILABLE	= new Gauge( "bx_oshi_system_memory_available_bytes",
+	    "The available memory of the operating system" );
+	private static final Gauge				SYSTEM_MEMORY_TOTAL		= new Gauge( "bx_oshi_system_memory_total_bytes",
+	    "The total memory of the operating system" );
+	private static final Gauge				JVM_MEMORY_FREE			= new Gauge( "bx_oshi_jvm_memory_free_bytes",
+	    "The free memory of the JVM" );
+	private static final Gauge				JVM_MEMORY_TOTAL		= new Gauge( "bx_oshi_jvm_memory_total_bytes",
+	    "The total memory of the JVM" );
+	private static final Gauge				JVM_MEMORY_MAX			= new Gauge( "bx_oshi_jvm_memory_max_bytes",
+	    "The maximum memory the JVM will attempt to use" );
+	private static final Gauge				FILESYSTEM_SIZE			= new Gauge( "bx_oshi_filesystem_size_bytes",
+	    "The total space of the mounted file system" );
+	private static final Gauge				FILESYSTEM_FREE			= new Gauge( "bx_oshi_filesystem_free_bytes",
+	    "The usable space of the mounted file system" );
+
+	private static final byte[]				EOF						= "# EOF\n".getBytes( StandardCharsets.UTF_8 );
+	private static final byte[]				NAN						= "NaN".getBytes( StandardCharsets.UTF_8 );
+
+	/**
+	 * The OSHI service to read the metrics from
+	 */
+	private final OshiService				oshi;
+
+	/**
+	 * Guards the reusable buffer
+	 */
+	private final ReentrantLock				lock					= new ReentrantLock();
+
+	/**
+	 * The encoded <code>{mount="..."}</code> label set of each mount point, rebuilt with the volume index
+	 */
+	private Map<String, byte[]>				mountLabels				= Map.of();
+
+	/**
+	 * The mount points the labels were encoded for
+	 */
+	private Set<String>						labelledMounts			= Set.of();
+
+	/**
+	 * The encoded <code>{cpu="..."}</code> label set of each logical processor
+	 */
+	private byte[][]						processorLabels			= new byte[ 0 ][];
+
+	/**
+	 * The reusable output buffer, grown as needed
+	 */
+	private byte[]							buffer					= new byte[ 8192 ];
+
+	/**
+	 * The write position in the buffer
+	 */
+	private int								position;
+
+	/**
+	 * Constructor
+	 *
+	 * @param oshi The OSHI service to read the metrics from
+	 */
+	public MetricsExposition( OshiService oshi ) {
+		this.oshi = oshi;
+	}
+
+	/**
+	 * Write the module metrics in the given format
+	 *
+	 * @param format The exposition format
+	 *
+	 * @return The exposition text
+	 */
+	public String write( Format format ) {
+		this.lock.lock();
+		try {
+			this.position = 0;
+
+			// CPU
+			writeGauge( CPU_USAGE, this.oshi.getCpuLoadSampler().getSystemCpuLoad() );
+			double[]	loads	= this.oshi.getCpuLoadSampler().getProcessorCpuLoads();
+			byte[][]	labels	= processorLabels( loads.length );
+			writeBytes( PROCESSOR_CPU_USAGE.header() );
+			for ( int cpu = 0; cpu < loads.length; cpu++ ) {
+				writeSample( PROCESSOR_CPU_USAGE, labels[ cpu ], loads[ cpu ] );
+			}
+
+			// System and JVM memory
+			Runtime runtime = Runtime.getRuntime();
+			writeGauge( SYSTEM_MEMORY_AVAILABLE, this.oshi.getSystemFreeMemory() );
+			writeGauge( SYSTEM_MEMORY_TOTAL, this.oshi.getSystemTotalMemory() );
+			writeGauge( JVM_MEMORY_FREE, runtime.freeMemory() );
+			writeGauge( JVM_MEMORY_TOTAL, runtime.totalMemory() );
+			writeGauge( JVM_MEMORY_MAX, runtime.maxMemory() );
+
+			// File systems, from one cached read of every mount
+			Set<String>			mounts			= this.oshi.getVolumeIndex().getMounts();
+			Map<String, byte[]>	volumeLabels	= mountLabels( mounts );
+			Map<String, Space>	spaces			= this.oshi.getDiskSpace();
+			writeBytes( FILESYSTEM_SIZE.header() );
+			for ( String mount : mounts ) {
+				Space space = spaces.get( mount );
+				// Null when unmounted since the last index rebuild
+				if ( space != null ) {
+					writeSample( FILESYSTEM_SIZE, volumeLabels.get( mount ), space.totalSpace() );
+				}
+			}
+			writeBytes( FILESYSTEM_FREE.header() );
+			for ( String mount : mounts ) {
+				Space space = spaces.get( mount );
+				if ( space != null ) {
+					writeSample( FILESYSTEM_FREE, volumeLabels.get( mount ), space.freeSpace() );
+				}
+			}
+
+			if ( format == Format.OPENMETRICS ) {
+				writeBytes( EOF );
+			}
+			return new String( this.buffer, 0, this.position, StandardCharsets.UTF_8 );
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Get the encoded label sets of the logical processors, re-encoded only if the processor count changed
+	 */
+	private byte[][] processorLabels( int count ) {
+		if ( this.processorLabels.length != count ) {
+			byte[][] labels = new byte[ count ][];
+			for ( int cpu = 0; cpu < count; cpu++ ) {
+				labels[ cpu ] = ( "{cpu=\"" + cpu + "\"}" ).getBytes( StandardCharsets.UTF_8 );
+			}
+			this.processorLabels = labels;
+		}
+		return this.processorLabels;
+	}
+
+	/**
+	 * Get the encoded label sets of the mount points, rebuilt only when the volume index was rebuilt so the
+	 * unmounted volumes are dropped
+	 */
+	private Map<String, byte[]> mountLabels( Set<String> mounts ) {
+		if ( mounts != this.labelledMounts ) {
+			Map<String, byte[]> labels = new HashMap<>( mounts.size() * 2 );
+			for ( String mount : mounts ) {
+				byte[] label = this.mountLabels.get( mount );
+				if ( label == null ) {
+					String escaped = mount.replace( "\\", "\\\\" ).replace( "\"", "\\\"" ).replace( "\n", "\\n" );
+					label = ( "{mount=\"" + escaped + "\"}" ).getBytes( StandardCharsets.UTF_8 );
+				}
+				labels.put( mount, label );
+			}
+			this.mountLabels	= labels;
+			this.labelledMounts	= mounts;
+		}
+		return this.mountLabels;
+	}
+
+	private void writeGauge( Gauge gauge, long value ) {
+		writeBytes( gauge.header() );
+		writeSample( gauge, null, value );
+	}
+
+	private void writeGauge( Gauge gauge, double value ) {
+		writeBytes( gauge.header() );
+		writeSample( gauge, null, value );
+	}
+
+	private void writeSample( Gauge gauge, byte[] labels, long value ) {
+		writeBytes( gauge.name() );
+		if ( labels != null ) {
+			writeBytes( labels );
+		}
+		writeByte( ' ' );
+		writeLong( value );
+		writeByte( '\n' );
+	}
+
+	private void writeSample( Gauge gauge, byte[] labels, double value ) {
+		writeBytes( gauge.name() );
+		if ( labels != null ) {
+			writeBytes( labels );
+		}
+		writeByte( ' ' );
+		writeDouble( value );
+		writeByte( '\n' );
+	}
+
+	/**
+	 * Write a double with six decimals, which is plenty for ratios, without going through a string
+	 */
+	private void writeDouble( double value ) {
+		if ( Double.isNaN( value ) || Double.isInfinite( value ) ) {
+			writeBytes( NAN );
+			return;
+		}
+		long scaled = Math.round( value * 1_000_000d );
+		if ( scaled < 0 ) {
+			writeByte( '-' );
+			scaled = -scaled;
+		}
+		writeLong( scaled / 1_000_000L );
+		writeByte( '.' );
+		long fraction = scaled % 1_000_000L;
+		for ( long divisor = 100_000L; divisor > 0; divisor /= 10 ) {
+			writeByte( ( char ) ( '0' + ( fraction / divisor ) % 10 ) );
+		}
+	}
+
+	/**
+	 * Write the decimal digits of a long without going through a string
+	 */
+	private void writeLong( long value ) {
+		if ( value == Long.MIN_VALUE ) {
+			writeBytes( Long.toString( value ).getBytes( StandardCharsets.UTF_8 ) );
+			return;
+		}
+		if ( value < 0 ) {
+			writeByte( '-' );
+			value = -value;
+		}
+		ensureCapacity( 19 );
+		int start = this.position;
+		do {
+			this.buffer[ this.position++ ] = ( byte ) ( '0' + value % 10 );
+			value /= 10;
+		} while ( value > 0 );
+		// The digits were written in reverse
+		for ( int i = start, j = this.position - 1; i < j; i++, j-- ) {
+			byte digit = this.buffer[ i ];
+			this.buffer[ i ]	= this.buffer[ j ];
+			this.buffer[ j ]	= digit;
+		}
+	}
+
+	private void writeByte( char value ) {
+		ensureCapacity( 1 );
+		this.buffer[ this.position++ ] = ( byte ) value;
+	}
+
+	private void writeBytes( byte[] bytes ) {
+		ensureCapacity( bytes.length );
+		System.arraycopy( bytes, 0, this.buffer, this.position, bytes.length );
+		this.position += bytes.length;
+	}
+
+	private void ensureCapacity( int length ) {
+		if ( this.position + length > this.buffer.length ) {
+			this.buffer = Arrays.copyOf( this.buffer, Math.max( this.buffer.length * 2, this.position + length ) );
+		}
+	}
+
+}
@@ -0,0 +1,122 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.util.Set;
+
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.hardware.NetworkIF;
+
+/**
+ * Samples the byte and packet counters of the network interfaces on the module sampler cadence, see
+ * {@link CounterRateSampler}. The error and drop counters are reported as they are.
+ */
+public class NetworkSampler extends CounterRateSampler<NetworkIF> {
+
+	/**
+	 * The counters sampled per interface: bytes received, bytes sent, packets received and packets sent
+	 */
+	private static final int COUNTERS = 4;
+
+	/**
+	 * Constructor
+	 *
+	 * @param hardware The hardware abstraction layer
+	 */
+	public NetworkSampler( HardwareAbstractionLayer hardware ) {
+		super( COUNTERS, "Network interface", hardware::getNetworkIFs );
+	}
+
+	/**
+	 * Get the names of the sampled interfaces
+	 *
+	 * @return The interface names
+	 */
+	public Set<String> getInterfaceNames() {
+		return getDeviceNames();
+	}
+
+	/**
+	 * Get the usage of a network interface. The rates are 0 until the sampler ran twice for the interface.
+	 *
+	 * @param name The interface name, e.g. <code>eth0</code>
+	 *
+	 * @return A struct with the rates per second and the error and drop counters of the interface
+	 *
+	 * @throws BoxRuntimeException If the interface is not found
+	 */
+	public IStruct getUsage( String name ) {
+		return getDevice( name );
+	}
+
+	/**
+	 * Get the usage of all the network interfaces
+	 *
+	 * @return A struct of usage structs by interface name
+	 */
+	public IStruct getUsage() {
+		return getDevices();
+	}
+
+	@Override
+	protected String getName( NetworkIF networkIF ) {
+		return networkIF.getName();
+	}
+
+	@Override
+	protected boolean update( NetworkIF networkIF ) {
+		return networkIF.updateAttributes();
+	}
+
+	@Override
+	protected long getTimeStamp( NetworkIF networkIF ) {
+		return networkIF.getTimeStamp();
+	}
+
+	@Override
+	protected long readCounter( NetworkIF networkIF, int counter ) {
+		return switch ( counter ) {
+			case 0 -> networkIF.getBytesRecv();
+			case 1 -> networkIF.getBytesSent();
+			case 2 -> networkIF.getPacketsRecv();
+			default -> networkIF.getPacketsSent();
+		};
+	}
+
+	@Override
+	protected IStruct toStruct( NetworkIF networkIF, double[] rates, int offset ) {
+		IStruct result = new Struct( IStruct.TYPES.LINKED );
+		result.put( Key._NAME, networkIF.getName() );
+		result.put( KeyDictionary.speed, networkIF.getSpeed() );
+		result.put( KeyDictionary.bytesReceivedPerSecond, rates[ offset ] );
+		result.put( KeyDictionary.bytesSentPerSecond, rates[ offset + 1 ] );
+		result.put( KeyDictionary.packetsReceivedPerSecond, rates[ offset + 2 ] );
+		result.put( KeyDictionary.packetsSentPerSecond, rates[ offset + 3 ] );
+		result.put( KeyDictionary.inErrors, networkIF.getInErrors() );
+		result.put( KeyDictionary.outErrors, networkIF.getOutErrors() );
+		result.put( KeyDictionary.inDrops, networkIF.getInDrops() );
+		result.put( KeyDictionary.collisions, networkIF.getCollisions() );
+		return result;
+	}
+
+}
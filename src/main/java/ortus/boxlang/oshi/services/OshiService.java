@@ -0,0 +1,931 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.oshi.services.MetricCache.Family;
+import ortus.boxlang.oshi.services.VolumeIndex.Space;
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.async.BoxFuture;
+import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.dynamic.casters.LongCaster;
+import ortus.boxlang.runtime.dynamic.casters.StringCaster;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import oshi.SystemInfo;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.software.os.OperatingSystem;
+
+/**
+ * The module-wide holder of the OSHI {@link SystemInfo} entry point.
+ * <p>
+ * OSHI memoizes most of its suppliers on the {@link SystemInfo}, {@link HardwareAbstractionLayer} and
+ * {@link OperatingSystem} instances, so every BIF in this module shares the same instances instead of
+ * re-running platform detection on each call.
+ * <p>
+ * The service also owns the module sampler: a single daemon thread that runs the background samplers
+ * (e.g. the {@link CpuLoadSampler}) on a fixed cadence, so BIFs can return the latest values without
+ * blocking the request thread. The async BIFs and the alert listeners run on a module-owned pool of daemon
+ * platform threads instead, since the native calls of OSHI would pin the carrier of a virtual thread.
+ * <p>
+ * Values that are expensive to query natively are served through a {@link MetricCache} configured by the
+ * <code>cache</code> module settings. On Linux the hottest of them are read from <code>/proc</code> by a
+ * {@link LinuxProcReader} when the <code>procFastPath</code> setting is enabled, falling back to OSHI elsewhere.
+ * <p>
+ * The <code>ModuleConfig.bx</code> <code>onLoad()</code> only records the module settings, so loading the module
+ * does not load OSHI, JNA or the native libraries. The service is started on first access with those settings, or
+ * ahead of time by a background warm-up thread when the <code>warmUp</code> setting is enabled, and released on
+ * <code>onUnload()</code>. If a BIF is called before the module is activated (e.g. in unit tests), the service
+ * starts with the default settings.
+ */
+public class OshiService {
+
+	/**
+	 * The default sampler cadence in milliseconds
+	 */
+	public static final long							DEFAULT_SAMPLER_INTERVAL		= 1000L;
+
+	/**
+	 * The default volume index rebuild cadence in milliseconds
+	 */
+	public static final long							DEFAULT_VOLUME_INDEX_INTERVAL	= 60000L;
+
+	/**
+	 * The default metric history cadence in milliseconds
+	 */
+	public static final long							DEFAULT_HISTORY_INTERVAL		= 5000L;
+
+	/**
+	 * The default number of samples kept by the metric history: one hour at the default cadence
+	 */
+	public static final long							DEFAULT_HISTORY_SIZE			= 720L;
+
+	/**
+	 * The default sliding window of the GC stats in milliseconds
+	 */
+	public static final long							DEFAULT_GC_WINDOW				= 60000L;
+
+	/**
+	 * The default metric recording cadence in milliseconds
+	 */
+	public static final long							DEFAULT_RECORDING_INTERVAL		= 5000L;
+
+	/**
+	 * The default size of a metric recording segment: 16MB, about 230,000 records
+	 */
+	public static final long							DEFAULT_RECORDING_SEGMENT_SIZE	= 16L * 1024 * 1024;
+
+	/**
+	 * The default number of metric recording segments kept
+	 */
+	public static final long							DEFAULT_RECORDING_MAX_SEGMENTS	= 10L;
+
+	/**
+	 * Logger
+	 */
+	private static final Logger							logger							= LoggerFactory.getLogger( OshiService.class );
+
+	/**
+	 * The singleton instance
+	 */
+	private static volatile OshiService					instance;
+
+	/**
+	 * The module settings recorded on activation, null if the module is not activated
+	 */
+	private static IStruct								moduleSettings;
+
+	/**
+	 * The shared OSHI entry point
+	 */
+	private final SystemInfo							systemInfo;
+
+	/**
+	 * The shared hardware abstraction layer
+	 */
+	private final HardwareAbstractionLayer				hardware;
+
+	/**
+	 * The shared operating system
+	 */
+	private final OperatingSystem						operatingSystem;
+
+	/**
+	 * The module settings
+	 */
+	private final IStruct								settings;
+
+	/**
+	 * The module sampler that runs all the background samplers
+	 */
+	private final ScheduledExecutorService				sampler;
+
+	/**
+	 * The daemon platform threads that run the async BIFs and the alert listeners, created on demand and released
+	 * after a minute idle
+	 */
+	private final ExecutorService						asyncExecutor;
+
+	/**
+	 * The static hardware inventory
+	 */
+	private final HardwareInventory						hardwareInventory;
+
+	/**
+	 * The Linux <code>/proc</code> fast path, null if disabled or not on Linux
+	 */
+	private final LinuxProcReader						procReader;
+
+	/**
+	 * The reader of the cgroup limits and usage, null if not on Linux or not readable
+	 */
+	private final CgroupReader							cgroupReader;
+
+	/**
+	 * The system CPU load sampler
+	 */
+	private final LazySampler<CpuLoadSampler>			cpuLoadSampler;
+
+	/**
+	 * The system load average sampler
+	 */
+	private final LazySampler<LoadAverageSampler>		loadAverageSampler;
+
+	/**
+	 * The Linux pressure stall information sampler, null if not on Linux or PSI is not available
+	 */
+	private final PressureSampler						pressureSampler;
+
+	/**
+	 * The index of the volumes by mount point and disk name
+	 */
+	private final LazySampler<VolumeIndex>				volumeIndex;
+
+	/**
+	 * The TTL cache of the native metric queries
+	 */
+	private final MetricCache							metricCache;
+
+	/**
+	 * The cache loaders, created once so cached reads do not allocate
+	 */
+	private final Function<Family, Long>				freeMemoryLoader;
+	private final Function<String, Long>				totalSpaceLoader;
+	private final Function<String, Long>				freeSpaceLoader;
+	private final Function<Family, Map<String, Space>>	diskSpaceLoader;
+	private final Function<Long, Double>				cpuLoadLoader;
+	private final Function<Family, Long>				containerFreeMemoryLoader;
+	private final Function<Long, Double>				containerCpuLoadLoader;
+
+	/**
+	 * The in-memory metric history, null if disabled
+	 */
+	private final MetricHistory							metricHistory;
+
+	/**
+	 * The crash-safe metric recorder, null if disabled
+	 */
+	private final MetricRecorder						metricRecorder;
+
+	/**
+	 * The Prometheus/OpenMetrics exposition writer
+	 */
+	private final MetricsExposition						metricsExposition;
+
+	/**
+	 * The tracker of the processes queried by the BIFs
+	 */
+	private final ProcessTracker						processTracker;
+
+	/**
+	 * The network interface throughput sampler
+	 */
+	private final LazySampler<NetworkSampler>			networkSampler;
+
+	/**
+	 * The disk I/O sampler
+	 */
+	private final LazySampler<DiskIOSampler>			diskIOSampler;
+
+	/**
+	 * The evaluator of the metric alerts
+	 */
+	private final MetricWatchdog						metricWatchdog;
+
+	/**
+	 * The GC and allocation sampler
+	 */
+	private final GCSampler								gcSampler;
+
+	/**
+	 * The JDK Flight Recorder periodic events, null if disabled or not supported
+	 */
+	private final FlightRecorderEvents					flightRecorderEvents;
+
+	/**
+	 * Constructor
+	 *
+	 * @param settings The module settings
+	 */
+	private OshiService( IStruct settings ) {
+		this.settings			= settings;
+		this.systemInfo			= new SystemInfo();
+		this.hardware			= this.systemInfo.getHardware();
+		this.operatingSystem	= this.systemInfo.getOperatingSystem();
+		this.sampler			= Executors.newSingleThreadScheduledExecutor( runnable -> {
+									Thread thread = new Thread( runnable, "bx-oshi-sampler" );
+									thread.setDaemon( true );
+									return thread;
+								} );
+		this.asyncExecutor		= Executors.newCachedThreadPool( Thread.ofPlatform().name( "bx-oshi-async-", 0 ).daemon().factory() );
+
+		this.procReader			= getBoolean( settings, KeyDictionary.procFastPath, true ) ? LinuxProcReader.create() : null;
+		this.hardwareInventory	= HardwareInventory.load( this.systemInfo, getString( settings, KeyDictionary.inventoryPath, null ) );
+		this.metricCache		= new MetricCache( getSettingAsStruct( KeyDictionary.cache ) );
+		this.freeMemoryLoader	= family -> {
+									long available = this.procReader == null ? -1L : this.procReader.getAvailableMemory();
+									return available >= 0 ? available : this.hardware.getMemory().getAvailable();
+								};
+		this.volumeIndex		= new LazySampler<>( () -> new VolumeIndex( this.hardware, this.operatingSystem ) );
+		this.totalSpaceLoader	= volumeName -> this.volumeIndex.get().getTotalSpace( volumeName );
+		this.freeSpaceLoader	= volumeName -> this.volumeIndex.get().getFreeSpace( volumeName );
+		this.diskSpaceLoader	= family -> this.volumeIndex.get().readSpaces();
+		this.cpuLoadLoader		= delay -> this.hardware.getProcessor().getSystemCpuLoad( delay );
+
+		this.cgroupReader				= CgroupReader.create( this.hardwareInventory.getLogicalProcessorCount() );
+		this.containerFreeMemoryLoader	= family -> {
+											long	usage		= this.cgroupReader == null ? -1L : this.cgroupReader.getMemoryUsage();
+											long	hostFree	= getSystemFreeMemory();
+											return usage < 0 ? hostFree : Math.max( 0L, Math.min( getContainerTotalMemory() - usage, hostFree ) );
+										};
+		this.containerCpuLoadLoader		= delay -> this.cgroupReader.measureCpuLoad( delay );
+
+		// The samplers that discover devices are created on first use, see LazySampler
+		this.cpuLoadSampler		= new LazySampler<>( () -> new CpuLoadSampler( this.hardware.getProcessor(), this.procReader ) );
+		this.loadAverageSampler	= new LazySampler<>( () -> new LoadAverageSampler( this.hardware.getProcessor(), this.procReader ) );
+		this.pressureSampler	= PressureSampler.create();
+		this.networkSampler		= new LazySampler<>( () -> new NetworkSampler( this.hardware ) );
+		this.diskIOSampler		= new LazySampler<>( () -> new DiskIOSampler( this.hardware ) );
+		this.metricsExposition	= new MetricsExposition( this );
+		this.processTracker		= new ProcessTracker( this.operatingSystem );
+
+		IStruct historySettings = getSettingAsStruct( KeyDictionary.history );
+		this.metricHistory = getBoolean( historySettings, KeyDictionary.enabled, true )
+		    ? new MetricHistory( this, ( int ) getLong( historySettings, KeyDictionary.size, DEFAULT_HISTORY_SIZE ),
+		        getString( historySettings, Key.path, null ) )
+		    : null;
+
+		IStruct recordingSettings = getSettingAsStruct( KeyDictionary.recording );
+		this.metricRecorder = getBoolean( recordingSettings, KeyDictionary.enabled, false )
+		    ? new MetricRecorder( this,
+		        Path.of( getString( recordingSettings, KeyDictionary.directory, System.getProperty( "java.io.tmpdir" ) + "/bx-oshi-recording" ) ),
+		        getLong( recordingSettings, KeyDictionary.segmentSize, DEFAULT_RECORDING_SEGMENT_SIZE ),
+		        ( int ) getLong( recordingSettings, KeyDictionary.maxSegments, DEFAULT_RECORDING_MAX_SEGMENTS ),
+		        getString( recordingSettings, Key.path, null ) )
+		    : null;
+
+		long	samplerInterval	= getSettingAsLong( KeyDictionary.samplerInterval, DEFAULT_SAMPLER_INTERVAL );
+		long	gcWindow		= getSettingAsLong( KeyDictionary.gcWindow, DEFAULT_GC_WINDOW );
+		if ( gcWindow < 2 * samplerInterval ) {
+			// A slow sampler is a valid setup, keep the two slots the GC stats need instead of failing the service
+			logger.warn( "The bx-oshi [gcWindow] ({}ms) is shorter than two [samplerInterval] ({}ms), using a window of {}ms",
+			    gcWindow, samplerInterval, 2 * samplerInterval );
+			gcWindow = 2 * samplerInterval;
+		}
+		this.metricWatchdog	= new MetricWatchdog( this, getSettingAsArray( KeyDictionary.alerts ) );
+		this.gcSampler		= new GCSampler( ( int ) ( gcWindow / samplerInterval ) );
+
+		// Start the background samplers once everything is built
+		schedule( this.cpuLoadSampler, samplerInterval );
+		schedule( this.loadAverageSampler, samplerInterval );
+		if ( this.pressureSampler != null ) {
+			schedule( this.pressureSampler, samplerInterval );
+		}
+		if ( this.cgroupReader != null ) {
+			schedule( this.cgroupReader, samplerInterval );
+		}
+		schedule( this.networkSampler, samplerInterval );
+		schedule( this.diskIOSampler, samplerInterval );
+		schedule( this.metricWatchdog, samplerInterval );
+		schedule( this.gcSampler, samplerInterval );
+		schedule( this.volumeIndex, getSettingAsLong( KeyDictionary.volumeIndexInterval, DEFAULT_VOLUME_INDEX_INTERVAL ) );
+		if ( this.metricHistory != null ) {
+			schedule( this.metricHistory, getLong( historySettings, KeyDictionary.interval, DEFAULT_HISTORY_INTERVAL ) );
+		}
+		if ( this.metricRecorder != null ) {
+			schedule( this.metricRecorder, getLong( recordingSettings, KeyDictionary.interval, DEFAULT_RECORDING_INTERVAL ) );
+		}
+
+		// Register the Flight Recorder events, JFR only calls them while a recording enables them
+		this.flightRecorderEvents = getBoolean( settings, KeyDictionary.flightRecorder, true ) && isFlightRecorderAvailable()
+		    ? new FlightRecorderEvents( this )
+		    : null;
+		if ( this.flightRecorderEvents != null ) {
+			this.flightRecorderEvents.register();
+		}
+	}
+
+	/**
+	 * Whether the runtime supports Flight Recorder. A runtime image linked without the jdk.jfr module fails on the
+	 * first jdk.jfr type, so the check must not let that error escape.
+	 *
+	 * @return True if the Flight Recorder events can be registered
+	 */
+	private static boolean isFlightRecorderAvailable() {
+		try {
+			return FlightRecorderEvents.isAvailable();
+		} catch ( LinkageError e ) {
+			logger.debug( "JDK Flight Recorder is not available, the bx-oshi events are not registered" );
+			return false;
+		}
+	}
+
+	/**
+	 * Get the running service, starting it with the module settings if needed.
+	 *
+	 * @return The OSHI service
+	 */
+	public static OshiService getInstance() {
+		OshiService service = instance;
+		if ( service == null ) {
+			service = start( "first call" );
+		}
+		return service;
+	}
+
+	/**
+	 * Record the module settings without starting the service, and start the background warm-up if the
+	 * <code>warmUp</code> setting is enabled. Called by the module on activation.
+	 *
+	 * @param settings The module settings
+	 */
+	public static void configure( IStruct settings ) {
+		synchronized ( OshiService.class ) {
+			moduleSettings = settings;
+		}
+		if ( getBoolean( settings, KeyDictionary.warmUp, true ) ) {
+			// A platform thread like the async executor, the native calls of the warm-up would pin a virtual thread carrier
+			Thread warmUp = new Thread( () -> warmUp( settings ), "bx-oshi-warmup" );
+			warmUp.setDaemon( true );
+			warmUp.start();
+		}
+	}
+
+	/**
+	 * Start the service with the module settings, or the default settings if the module is not activated.
+	 *
+	 * @return The OSHI service
+	 */
+	public static OshiService startup() {
+		return start( "startup" );
+	}
+
+	/**
+	 * Start the service with the given settings, if it is not running yet.
+	 *
+	 * @param settings The module settings
+	 *
+	 * @return The OSHI service
+	 */
+	public static synchronized OshiService startup( IStruct settings ) {
+		moduleSettings = settings;
+		return start( "startup" );
+	}
+
+	/**
+	 * Start the service if it is not running yet, logging how long it took and what triggered it.
+	 *
+	 * @param trigger What started the service, for the logs
+	 *
+	 * @return The OSHI service
+	 */
+	private static synchronized OshiService start( String trigger ) {
+		if ( instance == null ) {
+			long start = System.nanoTime();
+			instance = new OshiService( moduleSettings == null ? new Struct() : moduleSettings );
+			logger.info( "Started the bx-oshi service on {} in {}ms", trigger, ( System.nanoTime() - start ) / 1_000_000 );
+		}
+		return instance;
+	}
+
+	/**
+	 * Start the service in the background and pre-touch the native layers the first BIF calls go through, so the
+	 * first request does not pay for them.
+	 *
+	 * @param settings The settings the warm-up was started for
+	 */
+	private static void warmUp( IStruct settings ) {
+		OshiService service;
+		synchronized ( OshiService.class ) {
+			// The module was unloaded or reloaded in the meantime
+			if ( moduleSettings != settings ) {
+				return;
+			}
+			service = start( "warm-up" );
+		}
+		try {
+			long start = System.nanoTime();
+			service.getSystemFreeMemory();
+			service.getCpuLoadSampler().getSystemCpuLoad();
+			service.getVolumeIndex();
+			service.getProcessTracker().getCurrentProcessId();
+			logger.debug( "Warmed up the bx-oshi metrics in {}ms", ( System.nanoTime() - start ) / 1_000_000 );
+		} catch ( Throwable e ) {
+			logger.warn( "Error warming up the bx-oshi service", e );
+		}
+	}
+
+	/**
+	 * Release the service and stop the module sampler. Called by the module on deactivation.
+	 */
+	public static synchronized void shutdown() {
+		if ( instance != null ) {
+			// Unregister the Flight Recorder hooks first, so they don't read from a stopped service
+			if ( instance.flightRecorderEvents != null ) {
+				instance.flightRecorderEvents.unregister();
+			}
+			instance.sampler.shutdownNow();
+			// Let the running async probes complete their futures
+			instance.asyncExecutor.shutdown();
+			if ( instance.metricRecorder != null ) {
+				instance.metricRecorder.close();
+			}
+			if ( instance.procReader != null ) {
+				instance.procReader.close();
+			}
+			if ( instance.cgroupReader != null ) {
+				instance.cgroupReader.close();
+			}
+			if ( instance.pressureSampler != null ) {
+				instance.pressureSampler.close();
+			}
+			instance = null;
+		}
+		moduleSettings = null;
+	}
+
+	/**
+	 * Schedule a background task on the module sampler at a fixed cadence. Failures are logged so a
+	 * single bad sample does not cancel the task.
+	 *
+	 * @param task           The task to run
+	 * @param periodInMillis The cadence in milliseconds
+	 *
+	 * @return The scheduled future of the task
+	 */
+	public ScheduledFuture<?> schedule( Runnable task, long periodInMillis ) {
+		return this.sampler.scheduleAtFixedRate( () -> {
+			try {
+				task.run();
+			} catch ( Throwable e ) {
+				logger.error( "Error running the bx-oshi sampler task [{}]", task.getClass().getSimpleName(), e );
+			}
+		}, periodInMillis, periodInMillis, TimeUnit.MILLISECONDS );
+	}
+
+	/**
+	 * Run a probe on the module's async executor, so a request can start several slow probes at once and join
+	 * them.
+	 *
+	 * @param probe The probe to run
+	 *
+	 * @return A future of the probe result
+	 */
+	public <T> BoxFuture<T> runAsync( Supplier<T> probe ) {
+		return BoxFuture.ofCompletableFuture( CompletableFuture.supplyAsync( probe, this.asyncExecutor ) );
+	}
+
+	/**
+	 * Get the module's async executor, for the work that must not run on the module sampler (e.g. the alert
+	 * listeners)
+	 *
+	 * @return The executor
+	 */
+	public Executor getAsyncExecutor() {
+		return this.asyncExecutor;
+	}
+
+	/**
+	 * Get a numeric module setting
+	 *
+	 * @param key          The setting key
+	 * @param defaultValue The value to use if the setting is not defined
+	 *
+	 * @return The setting value
+	 */
+	public long getSettingAsLong( Key key, long defaultValue ) {
+		return getLong( this.settings, key, defaultValue );
+	}
+
+	/**
+	 * Get a nested struct module setting
+	 *
+	 * @param key The setting key
+	 *
+	 * @return The setting struct or null if not defined
+	 */
+	public IStruct getSettingAsStruct( Key key ) {
+		Object value = this.settings.get( key );
+		return value instanceof IStruct struct ? struct : null;
+	}
+
+	/**
+	 * Get an array module setting
+	 *
+	 * @param key The setting key
+	 *
+	 * @return The setting array or null if not defined
+	 */
+	public Array getSettingAsArray( Key key ) {
+		Object value = this.settings.get( key );
+		return value instanceof Array array ? array : null;
+	}
+
+	/**
+	 * Get a numeric value from a settings struct
+	 *
+	 * @param settings     The settings struct, can be null
+	 * @param key          The setting key
+	 * @param defaultValue The value to use if the setting is not defined
+	 *
+	 * @return The setting value
+	 */
+	public static long getLong( IStruct settings, Key key, long defaultValue ) {
+		Object value = settings == null ? null : settings.get( key );
+		return value == null ? defaultValue : LongCaster.cast( value );
+	}
+
+	/**
+	 * Get a boolean value from a settings struct
+	 *
+	 * @param settings     The settings struct, can be null
+	 * @param key          The setting key
+	 * @param defaultValue The value to use if the setting is not defined
+	 *
+	 * @return The setting value
+	 */
+	public static boolean getBoolean( IStruct settings, Key key, boolean defaultValue ) {
+		Object value = settings == null ? null : settings.get( key );
+		return value == null ? defaultValue : BooleanCaster.cast( value );
+	}
+
+	/**
+	 * Get a string value from a settings struct. Empty strings are treated as not defined.
+	 *
+	 * @param settings     The settings struct, can be null
+	 * @param key          The setting key
+	 * @param defaultValue The value to use if the setting is not defined
+	 *
+	 * @return The setting value
+	 */
+	public static String getString( IStruct settings, Key key, String defaultValue ) {
+		Object value = settings == null ? null : settings.get( key );
+		if ( value == null ) {
+			return defaultValue;
+		}
+		String string = StringCaster.cast( value );
+		return string.isEmpty() ? defaultValue : string;
+	}
+
+	/**
+	 * Get the module settings
+	 *
+	 * @return The settings
+	 */
+	public IStruct getSettings() {
+		return this.settings;
+	}
+
+	/**
+	 * Get the shared OSHI system information entry point
+	 *
+	 * @return The system info
+	 */
+	public SystemInfo getSystemInfo() {
+		return this.systemInfo;
+	}
+
+	/**
+	 * Get the shared hardware abstraction layer
+	 *
+	 * @return The hardware abstraction layer
+	 */
+	public HardwareAbstractionLayer getHardware() {
+		return this.hardware;
+	}
+
+	/**
+	 * Get the shared operating system
+	 *
+	 * @return The operating system
+	 */
+	public OperatingSystem getOperatingSystem() {
+		return this.operatingSystem;
+	}
+
+	/**
+	 * Get the static hardware inventory
+	 *
+	 * @return The hardware inventory
+	 */
+	public HardwareInventory getHardwareInventory() {
+		return this.hardwareInventory;
+	}
+
+	/**
+	 * Get the Linux <code>/proc</code> fast path
+	 *
+	 * @return The <code>/proc</code> reader, or null if disabled or not on Linux
+	 */
+	public LinuxProcReader getProcReader() {
+		return this.procReader;
+	}
+
+	/**
+	 * Get the reader of the cgroup limits and usage
+	 *
+	 * @return The cgroup reader, or null if not on Linux or not readable
+	 */
+	public CgroupReader getCgroupReader() {
+		return this.cgroupReader;
+	}
+
+	/**
+	 * Get the system CPU load sampler
+	 *
+	 * @return The CPU load sampler
+	 */
+	public CpuLoadSampler getCpuLoadSampler() {
+		return this.cpuLoadSampler.get();
+	}
+
+	/**
+	 * Get the system load average sampler
+	 *
+	 * @return The load average sampler
+	 */
+	public LoadAverageSampler getLoadAverageSampler() {
+		return this.loadAverageSampler.get();
+	}
+
+	/**
+	 * Get the Linux pressure stall information sampler
+	 *
+	 * @return The pressure sampler
+	 *
+	 * @throws BoxRuntimeException If not on Linux or the kernel does not provide PSI
+	 */
+	public PressureSampler getPressureSampler() {
+		if ( this.pressureSampler == null ) {
+			throw new BoxRuntimeException( "Pressure stall information is only available on Linux 4.20+ with PSI enabled" );
+		}
+		return this.pressureSampler;
+	}
+
+	/**
+	 * Get the network interface throughput sampler
+	 *
+	 * @return The network sampler
+	 */
+	public NetworkSampler getNetworkSampler() {
+		return this.networkSampler.get();
+	}
+
+	/**
+	 * Get the disk I/O sampler
+	 *
+	 * @return The disk I/O sampler
+	 */
+	public DiskIOSampler getDiskIOSampler() {
+		return this.diskIOSampler.get();
+	}
+
+	/**
+	 * Get the evaluator of the metric alerts
+	 *
+	 * @return The metric watchdog
+	 */
+	public MetricWatchdog getMetricWatchdog() {
+		return this.metricWatchdog;
+	}
+
+	/**
+	 * Get the GC and allocation sampler
+	 *
+	 * @return The GC sampler
+	 */
+	public GCSampler getGCSampler() {
+		return this.gcSampler;
+	}
+
+	/**
+	 * Get the index of the volumes by mount point and disk name
+	 *
+	 * @return The volume index
+	 */
+	public VolumeIndex getVolumeIndex() {
+		return this.volumeIndex.get();
+	}
+
+	/**
+	 * Get the in-memory metric history
+	 *
+	 * @return The metric history
+	 *
+	 * @throws BoxRuntimeException If the metric history is disabled
+	 */
+	public MetricHistory getMetricHistory() {
+		if ( this.metricHistory == null ) {
+			throw new BoxRuntimeException( "The metric history is disabled. Enable it with the [history.enabled] module setting" );
+		}
+		return this.metricHistory;
+	}
+
+	/**
+	 * Get the crash-safe metric recorder
+	 *
+	 * @return The metric recorder, or null if the recording is disabled
+	 */
+	public MetricRecorder getMetricRecorder() {
+		return this.metricRecorder;
+	}
+
+	/**
+	 * Get the Prometheus/OpenMetrics exposition writer
+	 *
+	 * @return The exposition writer
+	 */
+	public MetricsExposition getMetricsExposition() {
+		return this.metricsExposition;
+	}
+
+	/**
+	 * Get the tracker of the processes queried by the BIFs
+	 *
+	 * @return The process tracker
+	 */
+	public ProcessTracker getProcessTracker() {
+		return this.processTracker;
+	}
+
+	/**
+	 * Get the TTL cache of the native metric queries
+	 *
+	 * @return The metric cache
+	 */
+	public MetricCache getMetricCache() {
+		return this.metricCache;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Cached Metrics
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Get the available memory of the operating system in bytes
+	 *
+	 * @return The available memory
+	 */
+	public Long getSystemFreeMemory() {
+		return this.metricCache.get( Family.MEMORY, this.freeMemoryLoader );
+	}
+
+	/**
+	 * Get the total memory of the operating system in bytes, from the hardware inventory
+	 *
+	 * @return The total memory
+	 */
+	public Long getSystemTotalMemory() {
+		return this.hardwareInventory.getTotalMemory();
+	}
+
+	/**
+	 * Measure the system CPU load by blocking the calling thread for the given interval. Concurrent callers
+	 * asking for the same interval share a single measurement.
+	 *
+	 * @param delay The interval in milliseconds
+	 *
+	 * @return The system CPU load between 0 and 1
+	 */
+	public Double getSystemCpuLoad( long delay ) {
+		return this.metricCache.get( Family.CPU, delay, this.cpuLoadLoader );
+	}
+
+	/**
+	 * Get the memory available to the container in bytes: its memory limit minus its working set, capped by the free
+	 * memory of the host. Outside of a cgroup this is the free memory of the host.
+	 *
+	 * @return The available memory
+	 */
+	public Long getContainerFreeMemory() {
+		return this.metricCache.get( Family.MEMORY, this.containerFreeMemoryLoader );
+	}
+
+	/**
+	 * Get the total memory of the container in bytes: its memory limit, capped by the memory of the host. Without a
+	 * limit or outside of a cgroup this is the total memory of the host.
+	 *
+	 * @return The total memory
+	 */
+	public Long getContainerTotalMemory() {
+		long	limit	= this.cgroupReader == null ? -1L : this.cgroupReader.getMemoryLimit();
+		long	host	= getSystemTotalMemory();
+		return limit > 0 ? Math.min( limit, host ) : host;
+	}
+
+	/**
+	 * Get the latest CPU load of the container, relative to its CPU quota. Outside of a cgroup this is the system
+	 * CPU load.
+	 *
+	 * @return The CPU load between 0 and 1
+	 */
+	public double getContainerCpuLoad() {
+		return this.cgroupReader == null ? this.cpuLoadSampler.get().getSystemCpuLoad() : this.cgroupReader.getCpuLoad();
+	}
+
+	/**
+	 * Measure the CPU load of the container by blocking the calling thread for the given interval. Outside of a
+	 * cgroup this is the system CPU load.
+	 *
+	 * @param delay The interval in milliseconds
+	 *
+	 * @return The CPU load between 0 and 1
+	 */
+	public Double getContainerCpuLoad( long delay ) {
+		if ( this.cgroupReader == null ) {
+			return getSystemCpuLoad( delay );
+		}
+		return this.metricCache.get( Family.CPU, delay, this.containerCpuLoadLoader );
+	}
+
+	/**
+	 * Get the total space of a mounted volume, physical disk or partition
+	 *
+	 * @param volumeName The mount point or disk name
+	 *
+	 * @return The total space in bytes
+	 *
+	 * @throws BoxRuntimeException If the volume is not found
+	 */
+	public Long getTotalSpace( String volumeName ) {
+		return this.metricCache.get( Family.DISK, volumeName, this.totalSpaceLoader );
+	}
+
+	/**
+	 * Get the free space of a mounted volume or physical disk
+	 *
+	 * @param volumeName The mount point or disk name
+	 *
+	 * @return The free space in bytes
+	 *
+	 * @throws BoxRuntimeException If the volume is not found
+	 */
+	public Long getFreeSpace( String volumeName ) {
+		return this.metricCache.get( Family.DISK, volumeName, this.freeSpaceLoader );
+	}
+
+	/**
+	 * Get the total and free space of every mounted volume, read together in a single scan of the mount table and
+	 * cached as one value, for the callers that report every mount (e.g. a metrics scrape)
+	 *
+	 * @return The space of each mount point
+	 */
+	public Map<String, Space> getDiskSpace() {
+		return this.metricCache.get( Family.DISK, this.diskSpaceLoader );
+	}
+
+}
@@ -0,0 +1,272 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.oshi.util.ProcFile;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import oshi.PlatformEnum;
+import oshi.SystemInfo;
+
+/**
+ * Samples the Linux pressure stall information (PSI) of <code>/proc/pressure/cpu</code>, <code>memory</code> and
+ * <code>io</code> on the module sampler cadence: the share of time some or all tasks were stalled waiting for the
+ * resource, over 10, 60 and 300 seconds, and the total stall time.
+ * <p>
+ * Each file is read into its own reusable buffer (see {@link ProcFile}) and parsed in place into a
+ * <code>double[][]</code> snapshot. Two snapshots are swapped on every sample, so sampling does not allocate and
+ * readers just read the last published one.
+ */
+public class PressureSampler implements Runnable {
+
+	/**
+	 * The resources with pressure information
+	 */
+	public enum Resource {
+
+		CPU,
+		MEMORY,
+		IO;
+
+		/**
+		 * Find a resource by name
+		 *
+		 * @param name The resource name, case-insensitive: <code>cpu</code>, <code>memory</code> or <code>io</code>
+		 *
+		 * @return The resource
+		 *
+		 * @throws BoxRuntimeException If the resource is unknown
+		 */
+		public static Resource of( String name ) {
+			for ( Resource resource : values() ) {
+				if ( resource.name().equalsIgnoreCase( name ) ) {
+					return resource;
+				}
+			}
+			throw new BoxRuntimeException( "Unknown pressure resource [" + name + "]. Valid resources are: cpu, memory, io" );
+		}
+	}
+
+	/**
+	 * The pressure files directory, available since Linux 4.20 when PSI is enabled
+	 */
+	private static final Path		ROOT		= Path.of( "/proc/pressure" );
+
+	/**
+	 * The line labels: some tasks stalled, all tasks stalled
+	 */
+	private static final byte[]		SOME		= ProcFile.label( "some" );
+	private static final byte[]		FULL		= ProcFile.label( "full" );
+
+	/**
+	 * The values of a line: avg10, avg60, avg300 and total, and the offset of the full line values
+	 */
+	private static final int		LINE_VALUES	= 4;
+	private static final int		FULL_OFFSET	= LINE_VALUES;
+
+	/**
+	 * The pressure file of each resource, by ordinal, null if not available
+	 */
+	private final ProcFile[]		files;
+
+	/**
+	 * The values of the last sample, by resource ordinal, NaN if not available
+	 */
+	private volatile double[][]		pressure;
+
+	/**
+	 * The snapshot the next sample is parsed into
+	 */
+	private double[][]				nextPressure;
+
+	/**
+	 * Constructor
+	 *
+	 * @param files The pressure file of each resource, by ordinal
+	 */
+	private PressureSampler( ProcFile[] files ) {
+		this.files			= files;
+		this.nextPressure	= new double[ files.length ][ 2 * LINE_VALUES ];
+		run();
+		this.nextPressure	= new double[ files.length ][ 2 * LINE_VALUES ];
+	}
+
+	/**
+	 * Create the sampler if the kernel provides pressure information
+	 *
+	 * @return The sampler, or null if not on Linux or PSI is not available
+	 */
+	public static PressureSampler create() {
+		if ( SystemInfo.getCurrentPlatform() != PlatformEnum.LINUX || !Files.isDirectory( ROOT ) ) {
+			return null;
+		}
+		Resource[]	resources	= Resource.values();
+		ProcFile[]	files		= new ProcFile[ resources.length ];
+		boolean		available	= false;
+		for ( Resource resource : resources ) {
+			ProcFile file = new ProcFile( ROOT.resolve( resource.name().toLowerCase() ), 256 );
+			try {
+				// The files exist but fail to read when PSI is disabled at boot
+				file.read();
+				files[ resource.ordinal() ]	= file;
+				available					= true;
+			} catch ( IOException e ) {
+				file.close();
+			}
+		}
+		return available ? new PressureSampler( files ) : null;
+	}
+
+	/**
+	 * Take a sample of the pressure of every resource.
+	 */
+	@Override
+	public void run() {
+		double[][] next = this.nextPressure;
+		for ( int i = 0; i < this.files.length; i++ ) {
+			parse( this.files[ i ], next[ i ] );
+		}
+
+		// Publish the snapshot and reuse the previously published one for the next sample
+		double[][] published = this.pressure;
+		this.pressure		= next;
+		this.nextPressure	= published;
+	}
+
+	/**
+	 * Whether the pressure of a resource is available
+	 *
+	 * @param resource The resource
+	 *
+	 * @return True if the kernel reports it
+	 */
+	public boolean isAvailable( Resource resource ) {
+		return this.files[ resource.ordinal() ] != null;
+	}
+
+	/**
+	 * Get the latest pressure of a resource
+	 *
+	 * @param resource The resource
+	 *
+	 * @return A struct with the <code>some</code> and, if reported, <code>full</code> stall times: the
+	 *         <code>avg10</code>, <code>avg60</code> and <code>avg300</code> percentages and the <code>total</code>
+	 *         in microseconds
+	 *
+	 * @throws BoxRuntimeException If the kernel does not report the pressure of the resource
+	 */
+	public IStruct getPressure( Resource resource ) {
+		if ( !isAvailable( resource ) ) {
+			throw new BoxRuntimeException( "The pressure of [" + resource.name().toLowerCase() + "] is not available" );
+		}
+		double[]	values	= this.pressure[ resource.ordinal() ];
+		IStruct		result	= new Struct( IStruct.TYPES.LINKED );
+		result.put( KeyDictionary.some, toStruct( values, 0 ) );
+		if ( !Double.isNaN( values[ FULL_OFFSET ] ) ) {
+			result.put( KeyDictionary.full, toStruct( values, FULL_OFFSET ) );
+		}
+		return result;
+	}
+
+	/**
+	 * Close the pressure files
+	 */
+	public void close() {
+		for ( ProcFile file : this.files ) {
+			if ( file != null ) {
+				file.close();
+			}
+		}
+	}
+
+	/**
+	 * Parse a pressure file into the values of a resource
+	 *
+	 * @param file   The pressure file, null if not available
+	 * @param values The values to fill, set to NaN when missing
+	 */
+	private static void parse( ProcFile file, double[] values ) {
+		ByteBuffer buffer = null;
+		if ( file != null ) {
+			try {
+				buffer = file.read();
+			} catch ( IOException e ) {
+				// Keep the resource as not available for this sample
+			}
+		}
+		if ( buffer == null || !parseLine( buffer, SOME, values, 0 ) ) {
+			Arrays.fill( values, Double.NaN );
+			return;
+		}
+		// The cpu full line is only reported since Linux 5.13
+		buffer.rewind();
+		if ( !parseLine( buffer, FULL, values, FULL_OFFSET ) ) {
+			Arrays.fill( values, FULL_OFFSET, FULL_OFFSET + LINE_VALUES, Double.NaN );
+		}
+	}
+
+	/**
+	 * Parse a <code>some</code> or <code>full</code> line, e.g.
+	 * <code>some avg10=0.52 avg60=1.20 avg300=0.87 total=126549051</code>
+	 *
+	 * @param buffer The buffer read from the file
+	 * @param label  The line label
+	 * @param values The values to fill
+	 * @param offset The offset of the line values
+	 *
+	 * @return True if the line was found
+	 */
+	private static boolean parseLine( ByteBuffer buffer, byte[] label, double[] values, int offset ) {
+		if ( !ProcFile.seekLine( buffer, label ) ) {
+			return false;
+		}
+		for ( int i = 0; i < LINE_VALUES; i++ ) {
+			if ( !ProcFile.skipPast( buffer, ( byte ) '=' ) ) {
+				return false;
+			}
+			values[ offset + i ] = i < LINE_VALUES - 1 ? ProcFile.nextDouble( buffer ) : ProcFile.nextLong( buffer );
+		}
+		return true;
+	}
+
+	/**
+	 * Convert the values of a line to a struct
+	 *
+	 * @param values The values of the resource
+	 * @param offset The offset of the line values
+	 *
+	 * @return A struct with the <code>avg10</code>, <code>avg60</code>, <code>avg300</code> and <code>total</code>
+	 */
+	private static IStruct toStruct( double[] values, int offset ) {
+		return Struct.of(
+		    KeyDictionary.avg10, values[ offset ],
+		    KeyDictionary.avg60, values[ offset + 1 ],
+		    KeyDictionary.avg300, values[ offset + 2 ],
+		    KeyDictionary.total, ( long ) values[ offset + 3 ]
+		);
+	}
+
+}
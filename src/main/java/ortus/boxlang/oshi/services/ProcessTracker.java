@@ -0,0 +1,265 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ortus.boxlang.oshi.util.KeyDictionary;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem;
+import oshi.software.os.OperatingSystem.ProcessSorting;
+
+/**
+ * Tracks the processes the module is asked about.
+ * <p>
+ * Each tracked process keeps its {@link OSProcess} and is refreshed with <code>updateAttributes()</code> instead of
+ * enumerating the process list again, and remembers the CPU ticks of the previous call so the CPU usage between calls
+ * can be computed.
+ * <p>
+ * The top processes by CPU are selected with a bounded heap, using the CPU ticks of the process list seen on the
+ * previous call, so only the requested rows are sorted and converted.
+ */
+public class ProcessTracker {
+
+	/**
+	 * The maximum number of processes tracked at once, so callers iterating over many pids can't grow it forever
+	 */
+	private static final int					MAX_TRACKED	= 1024;
+
+	/**
+	 * The operating system to query the processes from
+	 */
+	private final OperatingSystem				operatingSystem;
+
+	/**
+	 * The tracked processes by pid
+	 */
+	private final Map<Integer, TrackedProcess>	processes	= new ConcurrentHashMap<>();
+
+	/**
+	 * The process list of the previous top processes by CPU call, by pid
+	 */
+	private Map<Integer, OSProcess>				previousProcesses	= Map.of();
+
+	/**
+	 * A tracked process and the CPU ticks it had on the previous call
+	 */
+	private static final class TrackedProcess {
+
+		private final OSProcess	process;
+		private long			previousCpuTime;
+		private long			previousUpTime;
+
+		TrackedProcess( OSProcess process ) {
+			this.process			= process;
+			this.previousCpuTime	= process.getKernelTime() + process.getUserTime();
+			this.previousUpTime		= process.getUpTime();
+		}
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param operatingSystem The operating system
+	 */
+	public ProcessTracker( OperatingSystem operatingSystem ) {
+		this.operatingSystem = operatingSystem;
+	}
+
+	/**
+	 * Get the id of the current JVM process
+	 *
+	 * @return The pid
+	 */
+	public int getCurrentProcessId() {
+		return this.operatingSystem.getProcessId();
+	}
+
+	/**
+	 * Get the information of a process, refreshing the tracked process in place.
+	 *
+	 * @param pid The process id
+	 *
+	 * @return A struct with the process information
+	 *
+	 * @throws BoxRuntimeException If the process does not exist
+	 */
+	public IStruct getProcessInfo( int pid ) {
+		TrackedProcess tracked = this.processes.get( pid );
+
+		// First call for this pid: look it up once
+		if ( tracked == null ) {
+			OSProcess process = this.operatingSystem.getProcess( pid );
+			if ( process == null ) {
+				throw new BoxRuntimeException( "Process not found: " + pid );
+			}
+			if ( this.processes.size() >= MAX_TRACKED ) {
+				this.processes.clear();
+			}
+			tracked = new TrackedProcess( process );
+			TrackedProcess existing = this.processes.putIfAbsent( pid, tracked );
+			if ( existing != null ) {
+				tracked = existing;
+			} else {
+				// Just looked up, the CPU usage is the one since it started
+				return toStruct( tracked.process, tracked.process.getProcessCpuLoadCumulative() );
+			}
+		}
+
+		synchronized ( tracked ) {
+			if ( !tracked.process.updateAttributes() ) {
+				this.processes.remove( pid );
+				throw new BoxRuntimeException( "Process not found: " + pid );
+			}
+			long	cpuTime		= tracked.process.getKernelTime() + tracked.process.getUserTime();
+			long	upTime		= tracked.process.getUpTime();
+			long	upTimeDelta	= upTime - tracked.previousUpTime;
+			double	cpuUsage	= upTimeDelta > 0
+			    ? ( double ) ( cpuTime - tracked.previousCpuTime ) / upTimeDelta
+			    : tracked.process.getProcessCpuLoadCumulative();
+
+			tracked.previousCpuTime	= cpuTime;
+			tracked.previousUpTime	= upTime;
+			return toStruct( tracked.process, cpuUsage );
+		}
+	}
+
+	/**
+	 * Get the processes using the most memory, largest resident set first. The sorting and limiting is done by OSHI.
+	 *
+	 * @param limit The maximum number of processes to return
+	 *
+	 * @return An array of process structs
+	 */
+	public Array getTopProcessesByMemory( int limit ) {
+		List<OSProcess>	top		= this.operatingSystem.getProcesses( null, ProcessSorting.RSS_DESC, checkLimit( limit ) );
+		Array			result	= new Array( top.size() );
+		for ( OSProcess process : top ) {
+			result.add( toStruct( process, process.getProcessCpuLoadCumulative() ) );
+		}
+		return result;
+	}
+
+	/**
+	 * Get the processes using the most CPU, busiest first. The CPU usage is measured against the process list of the
+	 * previous call, or since each process started for the first call and for new processes.
+	 *
+	 * @param limit The maximum number of processes to return
+	 *
+	 * @return An array of process structs
+	 */
+	public synchronized Array getTopProcessesByCpu( int limit ) {
+		List<OSProcess>				all			= this.operatingSystem.getProcesses();
+		Map<Integer, OSProcess>		current		= HashMap.newHashMap( all.size() );
+		int							size		= Math.min( checkLimit( limit ), all.size() );
+		PriorityQueue<ProcessLoad>	top			= new PriorityQueue<>( size + 1, Comparator.comparingDouble( ProcessLoad::load ) );
+
+		for ( OSProcess process : all ) {
+			current.put( process.getProcessID(), process );
+			// OSHI falls back to the cumulative load when there is no previous snapshot of the same process
+			double load = process.getProcessCpuLoadBetweenTicks( this.previousProcesses.get( process.getProcessID() ) );
+			if ( top.size() < size ) {
+				top.offer( new ProcessLoad( process, load ) );
+			} else if ( size > 0 && load > top.peek().load() ) {
+				top.poll();
+				top.offer( new ProcessLoad( process, load ) );
+			}
+		}
+		this.previousProcesses = current;
+
+		// The heap keeps the smallest on top, fill the result from the end
+		ProcessLoad[] sorted = new ProcessLoad[ top.size() ];
+		for ( int i = sorted.length - 1; i >= 0; i-- ) {
+			sorted[ i ] = top.poll();
+		}
+		Array result = new Array( sorted.length );
+		for ( ProcessLoad entry : sorted ) {
+			result.add( toStruct( entry.process(), entry.load() ) );
+		}
+		return result;
+	}
+
+	/**
+	 * Stop tracking all the processes
+	 */
+	public synchronized void clear() {
+		this.processes.clear();
+		this.previousProcesses = Map.of();
+	}
+
+	/**
+	 * A process and its CPU load, as kept in the top processes heap
+	 *
+	 * @param process The process
+	 * @param load    The CPU load
+	 */
+	private record ProcessLoad( OSProcess process, double load ) {
+	}
+
+	/**
+	 * Validate the number of processes requested
+	 *
+	 * @param limit The limit
+	 *
+	 * @return The limit
+	 *
+	 * @throws BoxRuntimeException If the limit is not positive
+	 */
+	private static int checkLimit( int limit ) {
+		if ( limit < 1 ) {
+			throw new BoxRuntimeException( "The limit must be greater than 0: " + limit );
+		}
+		return limit;
+	}
+
+	/**
+	 * Convert a process to the struct returned by the BIFs
+	 *
+	 * @param process  The process
+	 * @param cpuUsage The CPU usage to report
+	 *
+	 * @return The process struct
+	 */
+	static IStruct toStruct( OSProcess process, double cpuUsage ) {
+		IStruct result = new Struct( IStruct.TYPES.LINKED );
+		result.put( KeyDictionary.pid, process.getProcessID() );
+		result.put( Key._NAME, process.getName() );
+		result.put( KeyDictionary.state, process.getState().name() );
+		result.put( KeyDictionary.cpuUsage, cpuUsage );
+		result.put( KeyDictionary.residentSetSize, process.getResidentSetSize() );
+		result.put( KeyDictionary.virtualSize, process.getVirtualSize() );
+		result.put( KeyDictionary.threadCount, process.getThreadCount() );
+		result.put( KeyDictionary.openFiles, process.getOpenFiles() );
+		result.put( KeyDictionary.bytesRead, process.getBytesRead() );
+		result.put( KeyDictionary.bytesWritten, process.getBytesWritten() );
+		result.put( KeyDictionary.upTime, process.getUpTime() );
+		result.put( KeyDictionary.startTime, process.getStartTime() );
+		return result;
+	}
+
+}
@@ -0,0 +1,133 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToDoubleBiFunction;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * The scalar metrics the module can report by name, e.g. in <code>getSystemSnapshot()</code>. Each metric reads
+ * from the shared {@link OshiService}, so its caches and samplers are reused.
+ */
+public enum SystemMetric {
+
+	CPU_USAGE( "cpuUsage", false, false, ( oshi, path ) -> oshi.getCpuLoadSampler().getSystemCpuLoad() ),
+	SYSTEM_FREE_MEMORY( "systemFreeMemory", false, true, ( oshi, path ) -> oshi.getSystemFreeMemory() ),
+	SYSTEM_TOTAL_MEMORY( "systemTotalMemory", false, true, ( oshi, path ) -> oshi.getSystemTotalMemory() ),
+	JVM_FREE_MEMORY( "jvmFreeMemory", false, true, ( oshi, path ) -> Runtime.getRuntime().freeMemory() ),
+	JVM_MAX_MEMORY( "jvmMaxMemory", false, true, ( oshi, path ) -> Runtime.getRuntime().maxMemory() ),
+	JVM_TOTAL_MEMORY( "jvmTotalMemory", false, true, ( oshi, path ) -> Runtime.getRuntime().totalMemory() ),
+	TOTAL_SPACE( "totalSpace", true, true, ( oshi, path ) -> oshi.getTotalSpace( path ) ),
+	FREE_SPACE( "freeSpace", true, true, ( oshi, path ) -> oshi.getFreeSpace( path ) );
+
+	/**
+	 * The metrics by key, for case-insensitive lookups
+	 */
+	private static final Map<Key, SystemMetric>				BY_KEY	= new HashMap<>();
+
+	static {
+		for ( SystemMetric metric : values() ) {
+			BY_KEY.put( metric.key, metric );
+		}
+	}
+
+	private final Key										key;
+	private final boolean									requiresPath;
+
+	/**
+	 * Whether the metric is a count of bytes, reported as a <code>Long</code> by {@link #read(OshiService, String)}
+	 */
+	private final boolean									bytes;
+
+	/**
+	 * The single reader of the metric, from the service and the volume path
+	 */
+	private final ToDoubleBiFunction<OshiService, String>	reader;
+
+	SystemMetric( String name, boolean requiresPath, boolean bytes, ToDoubleBiFunction<OshiService, String> reader ) {
+		this.key			= Key.of( name );
+		this.requiresPath	= requiresPath;
+		this.bytes			= bytes;
+		this.reader			= reader;
+	}
+
+	/**
+	 * The key of the metric, which is also its name in the results
+	 *
+	 * @return The key
+	 */
+	public Key getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Whether the metric needs a volume path to be read
+	 *
+	 * @return True if a path is required
+	 */
+	public boolean requiresPath() {
+		return this.requiresPath;
+	}
+
+	/**
+	 * Find a metric by name
+	 *
+	 * @param name The metric name, case-insensitive
+	 *
+	 * @return The metric
+	 *
+	 * @throws BoxRuntimeException If the metric is unknown
+	 */
+	public static SystemMetric of( String name ) {
+		SystemMetric metric = BY_KEY.get( Key.of( name ) );
+		if ( metric == null ) {
+			throw new BoxRuntimeException( "Unknown metric [" + name + "]. Valid metrics are: " + BY_KEY.keySet() );
+		}
+		return metric;
+	}
+
+	/**
+	 * Read the current value of the metric
+	 *
+	 * @param oshi The OSHI service
+	 * @param path The volume path, used by the space metrics
+	 *
+	 * @return The metric value, a <code>Long</code> for the byte counts and a <code>Double</code> for the CPU usage
+	 */
+	public Object read( OshiService oshi, String path ) {
+		double value = readAsDouble( oshi, path );
+		return this.bytes ? ( Object ) ( long ) value : ( Object ) value;
+	}
+
+	/**
+	 * Read the current value of the metric as a primitive, for the samplers that store numbers
+	 *
+	 * @param oshi The OSHI service
+	 * @param path The volume path, used by the space metrics
+	 *
+	 * @return The metric value
+	 */
+	public double readAsDouble( OshiService oshi, String path ) {
+		return this.reader.applyAsDouble( oshi, path );
+	}
+
+}
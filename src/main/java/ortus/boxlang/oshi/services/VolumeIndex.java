@@ -0,0 +1,263 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.services;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.HWPartition;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.software.os.OSFileStore;
+import oshi.software.os.OperatingSystem;
+
+/**
+ * An index of the volumes of the system by mount point, disk name and partition mount point.
+ * <p>
+ * The index is rebuilt by the module sampler on a fixed cadence, and on demand when a volume is not found
+ * (e.g. a new mount), so lookups are a hash map get instead of a scan of every file store, disk and partition.
+ * Only the store that matched is refreshed with <code>updateAttributes()</code>.
+ */
+public class VolumeIndex implements Runnable {
+
+	/**
+	 * The minimum time between two rebuilds triggered by a lookup miss, so unknown volumes can't force a rebuild
+	 * on every call
+	 */
+	private static final long				MIN_REBUILD_ON_MISS_NANOS	= TimeUnit.SECONDS.toNanos( 1 );
+
+	/**
+	 * The hardware to index the disks from
+	 */
+	private final HardwareAbstractionLayer	hardware;
+
+	/**
+	 * The operating system to index the file stores from
+	 */
+	private final OperatingSystem			operatingSystem;
+
+	/**
+	 * The current index, replaced as a whole on every rebuild
+	 */
+	private volatile Snapshot				snapshot;
+
+	/**
+	 * The nano time of the last rebuild
+	 */
+	private volatile long					lastRebuild;
+
+	/**
+	 * An immutable view of the volumes at a point in time
+	 *
+	 * @param fileStores The file stores by mount point
+	 * @param disks      The physical disks by name
+	 * @param partitions The partitions by mount point
+	 * @param mounts     A read-only view of the file store mount points
+	 */
+	private record Snapshot( Map<String, OSFileStore> fileStores, Map<String, HWDiskStore> disks, Map<String, HWPartition> partitions,
+	    Set<String> mounts ) {
+	}
+
+	/**
+	 * The space of a mounted volume
+	 *
+	 * @param totalSpace The total space in bytes
+	 * @param freeSpace  The usable space in bytes
+	 */
+	public record Space( long totalSpace, long freeSpace ) {
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param hardware        The hardware abstraction layer
+	 * @param operatingSystem The operating system
+	 */
+	public VolumeIndex( HardwareAbstractionLayer hardware, OperatingSystem operatingSystem ) {
+		this.hardware			= hardware;
+		this.operatingSystem	= operatingSystem;
+		rebuild();
+	}
+
+	/**
+	 * Rebuild the index from the sampler.
+	 */
+	@Override
+	public void run() {
+		rebuild();
+	}
+
+	/**
+	 * Rebuild the index from the current file stores, disks and partitions.
+	 */
+	public synchronized void rebuild() {
+		Map<String, OSFileStore>	fileStores	= new HashMap<>();
+		Map<String, HWDiskStore>	disks		= new HashMap<>();
+		Map<String, HWPartition>	partitions	= new HashMap<>();
+
+		for ( OSFileStore fs : this.operatingSystem.getFileSystem().getFileStores() ) {
+			fileStores.putIfAbsent( fs.getMount(), fs );
+		}
+		for ( HWDiskStore disk : this.hardware.getDiskStores() ) {
+			disks.putIfAbsent( disk.getName(), disk );
+			for ( HWPartition partition : disk.getPartitions() ) {
+				if ( !partition.getMountPoint().isEmpty() ) {
+					partitions.putIfAbsent( partition.getMountPoint(), partition );
+				}
+			}
+		}
+
+		this.snapshot		= new Snapshot( fileStores, disks, partitions, Collections.unmodifiableSet( fileStores.keySet() ) );
+		this.lastRebuild	= System.nanoTime();
+	}
+
+	/**
+	 * Get the mount points of the indexed file stores
+	 *
+	 * @return The mount points, a read-only view of the current index. The same set is returned until the next
+	 *         rebuild, so callers can compare it by identity to detect a rebuild.
+	 */
+	public Set<String> getMounts() {
+		return this.snapshot.mounts();
+	}
+
+	/**
+	 * Read the space of every mounted file store from a single scan of the mount table, instead of one
+	 * <code>updateAttributes()</code> per mount and value, which rescans the mount table every time.
+	 *
+	 * @return The space of each mount point
+	 */
+	public Map<String, Space> readSpaces() {
+		Map<String, Space> spaces = new HashMap<>();
+		for ( OSFileStore fs : this.operatingSystem.getFileSystem().getFileStores() ) {
+			spaces.putIfAbsent( fs.getMount(), new Space( fs.getTotalSpace(), fs.getUsableSpace() ) );
+		}
+		return Collections.unmodifiableMap( spaces );
+	}
+
+	/**
+	 * Get the total space of a mounted volume, physical disk or partition
+	 *
+	 * @param volumeName The mount point or disk name
+	 *
+	 * @return The total space in bytes
+	 *
+	 * @throws BoxRuntimeException If the volume is not found
+	 */
+	public long getTotalSpace( String volumeName ) {
+		for ( int attempt = 0; attempt < 2; attempt++ ) {
+			Snapshot current = this.snapshot;
+
+			// Check for mounted file systems
+			OSFileStore fs = current.fileStores().get( volumeName );
+			if ( fs != null ) {
+				fs.updateAttributes();
+				return fs.getTotalSpace();
+			}
+
+			// Check for physical disks if volume name not found
+			// Useful, so you can get things like `disk1` instead of `/dev/disk1`
+			HWDiskStore disk = current.disks().get( volumeName );
+			if ( disk != null ) {
+				return disk.getSize();
+			}
+
+			// Then do partitions
+			HWPartition partition = current.partitions().get( volumeName );
+			if ( partition != null ) {
+				return partition.getSize();
+			}
+
+			if ( !rebuildOnMiss() ) {
+				break;
+			}
+		}
+
+		// Volume not found
+		throw new BoxRuntimeException( "Volume not found: " + volumeName );
+	}
+
+	/**
+	 * Get the free space of a mounted volume or physical disk. The free space of a disk is the usable space of the
+	 * file systems mounted from its partitions, unmounted partitions are not counted.
+	 *
+	 * @param volumeName The mount point or disk name
+	 *
+	 * @return The free space in bytes
+	 *
+	 * @throws BoxRuntimeException If the volume is not found
+	 */
+	public long getFreeSpace( String volumeName ) {
+		for ( int attempt = 0; attempt < 2; attempt++ ) {
+			Snapshot current = this.snapshot;
+
+			// Check for mounted file systems
+			OSFileStore fs = current.fileStores().get( volumeName );
+			if ( fs != null ) {
+				fs.updateAttributes();
+				return fs.getUsableSpace();
+			}
+
+			// Check for physical disks if volume name not found
+			// Useful, so you can get things like `disk1` instead of `/dev/disk1`
+			// The free space of a disk is the usable space of its mounted partitions
+			HWDiskStore disk = current.disks().get( volumeName );
+			if ( disk != null ) {
+				long freeSpace = 0;
+				for ( HWPartition partition : disk.getPartitions() ) {
+					OSFileStore partitionStore = current.fileStores().get( partition.getMountPoint() );
+					if ( partitionStore != null ) {
+						partitionStore.updateAttributes();
+						freeSpace += partitionStore.getUsableSpace();
+					}
+				}
+				return freeSpace;
+			}
+
+			if ( !rebuildOnMiss() ) {
+				break;
+			}
+		}
+
+		// Volume not found
+		throw new BoxRuntimeException( "Volume not found: " + volumeName );
+	}
+
+	/**
+	 * Rebuild the index after a lookup miss, in case the volume was mounted after the last rebuild.
+	 *
+	 * @return True if the index was rebuilt and the lookup should be retried
+	 */
+	private boolean rebuildOnMiss() {
+		if ( System.nanoTime() - this.lastRebuild < MIN_REBUILD_ON_MISS_NANOS ) {
+			return false;
+		}
+		synchronized ( this ) {
+			// Another caller may have rebuilt it while we waited
+			if ( System.nanoTime() - this.lastRebuild >= MIN_REBUILD_ON_MISS_NANOS ) {
+				rebuild();
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,73 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.util;
+
+import java.util.Map;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.async.BoxFuture;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+
+/**
+ * Runs a synchronous BIF on the module's async executor for its async variant.
+ * <p>
+ * The probe outlives the BIF call, so it must not use the request: it gets a copy of the resolved arguments, with
+ * the arrays copied too, and the runtime context instead of the request context.
+ */
+public final class AsyncProbes {
+
+	private AsyncProbes() {
+	}
+
+	/**
+	 * Run a BIF on the module's async executor
+	 *
+	 * @param probe     The synchronous BIF
+	 * @param arguments The resolved arguments of the async BIF call
+	 *
+	 * @return A future of the BIF result
+	 */
+	@SuppressWarnings( "unchecked" )
+	public static <T> BoxFuture<T> run( BIF probe, ArgumentsScope arguments ) {
+		ArgumentsScope	copy	= copy( arguments );
+		IBoxContext		runtime	= BoxRuntime.getInstance().getRuntimeContext();
+		return OshiService.getInstance().runAsync( () -> ( T ) probe._invoke( runtime, copy ) );
+	}
+
+	/**
+	 * Copy the resolved arguments, so the caller can't change them while the probe runs
+	 *
+	 * @param arguments The arguments
+	 *
+	 * @return The copy
+	 */
+	private static ArgumentsScope copy( ArgumentsScope arguments ) {
+		ArgumentsScope copy = new ArgumentsScope();
+		for ( Map.Entry<Key, Object> argument : arguments.entrySet() ) {
+			Object value = argument.getValue();
+			copy.put( argument.getKey(), value instanceof Array array ? Array.of( array.toArray() ) : value );
+		}
+		return copy;
+	}
+
+}
@@ -0,0 +1,138 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.util;
+
+import ortus.boxlang.runtime.scopes.Key;
+
+/**
+ * The keys used by the module that are not part of the core runtime {@link Key} dictionary.
+ */
+public class KeyDictionary {
+
+	// Module Settings
+	public static final Key	samplerInterval				= Key.of( "samplerInterval" );
+	public static final Key	volumeIndexInterval			= Key.of( "volumeIndexInterval" );
+	public static final Key	cache						= Key.of( "cache" );
+	public static final Key	history						= Key.of( "history" );
+	public static final Key	enabled						= Key.of( "enabled" );
+	public static final Key	interval					= Key.of( "interval" );
+	public static final Key	size						= Key.of( "size" );
+	public static final Key	alerts						= Key.of( "alerts" );
+	public static final Key	gcWindow					= Key.of( "gcWindow" );
+	public static final Key	inventoryPath				= Key.of( "inventoryPath" );
+	public static final Key	procFastPath				= Key.of( "procFastPath" );
+	public static final Key	warmUp						= Key.of( "warmUp" );
+	public static final Key	flightRecorder				= Key.of( "flightRecorder" );
+	public static final Key	recording					= Key.of( "recording" );
+	public static final Key	directory					= Key.of( "directory" );
+	public static final Key	segmentSize					= Key.of( "segmentSize" );
+	public static final Key	maxSegments					= Key.of( "maxSegments" );
+
+	// Arguments
+	public static final Key	metrics						= Key.of( "metrics" );
+	public static final Key	metric						= Key.of( "metric" );
+	public static final Key	since						= Key.of( "since" );
+	public static final Key	limit						= Key.of( "limit" );
+	public static final Key	format						= Key.of( "format" );
+	public static final Key	pid							= Key.of( "pid" );
+	public static final Key	by							= Key.of( "by" );
+	public static final Key	_interface					= Key.of( "interface" );
+	public static final Key	disk						= Key.of( "disk" );
+	public static final Key	operator					= Key.of( "operator" );
+	public static final Key	threshold					= Key.of( "threshold" );
+	public static final Key	duration					= Key.of( "duration" );
+	public static final Key	object						= Key.of( "object" );
+	public static final Key	fields						= Key.of( "fields" );
+	public static final Key	asStruct					= Key.of( "asStruct" );
+	public static final Key	scope						= Key.of( "scope" );
+	public static final Key	file						= Key.of( "file" );
+	public static final Key	from						= Key.of( "from" );
+	public static final Key	to							= Key.of( "to" );
+	public static final Key	resource					= Key.of( "resource" );
+	public static final Key	some						= Key.of( "some" );
+	public static final Key	full						= Key.of( "full" );
+	public static final Key	avg10						= Key.of( "avg10" );
+	public static final Key	avg60						= Key.of( "avg60" );
+	public static final Key	avg300						= Key.of( "avg300" );
+
+	// Results
+	public static final Key	timestamp					= Key.of( "timestamp" );
+	public static final Key	value						= Key.of( "value" );
+	public static final Key	used						= Key.of( "used" );
+	public static final Key	committed					= Key.of( "committed" );
+	public static final Key	max							= Key.of( "max" );
+	public static final Key	init						= Key.of( "init" );
+	public static final Key	peakUsed					= Key.of( "peakUsed" );
+	public static final Key	state						= Key.of( "state" );
+	public static final Key	cpuUsage					= Key.of( "cpuUsage" );
+	public static final Key	residentSetSize				= Key.of( "residentSetSize" );
+	public static final Key	virtualSize					= Key.of( "virtualSize" );
+	public static final Key	threadCount					= Key.of( "threadCount" );
+	public static final Key	openFiles					= Key.of( "openFiles" );
+	public static final Key	bytesRead					= Key.of( "bytesRead" );
+	public static final Key	bytesWritten				= Key.of( "bytesWritten" );
+	public static final Key	upTime						= Key.of( "upTime" );
+	public static final Key	startTime					= Key.of( "startTime" );
+	public static final Key	speed						= Key.of( "speed" );
+	public static final Key	bytesReceivedPerSecond		= Key.of( "bytesReceivedPerSecond" );
+	public static final Key	bytesSentPerSecond			= Key.of( "bytesSentPerSecond" );
+	public static final Key	packetsReceivedPerSecond	= Key.of( "packetsReceivedPerSecond" );
+	public static final Key	packetsSentPerSecond		= Key.of( "packetsSentPerSecond" );
+	public static final Key	inErrors					= Key.of( "inErrors" );
+	public static final Key	outErrors					= Key.of( "outErrors" );
+	public static final Key	inDrops						= Key.of( "inDrops" );
+	public static final Key	collisions					= Key.of( "collisions" );
+	public static final Key	readBytesPerSecond			= Key.of( "readBytesPerSecond" );
+	public static final Key	writeBytesPerSecond			= Key.of( "writeBytesPerSecond" );
+	public static final Key	readsPerSecond				= Key.of( "readsPerSecond" );
+	public static final Key	writesPerSecond				= Key.of( "writesPerSecond" );
+	public static final Key	iops						= Key.of( "iops" );
+	public static final Key	utilization					= Key.of( "utilization" );
+	public static final Key	queueLength					= Key.of( "queueLength" );
+	public static final Key	window						= Key.of( "window" );
+	public static final Key	collections					= Key.of( "collections" );
+	public static final Key	collectionTime				= Key.of( "collectionTime" );
+	public static final Key	gcTimePercentage			= Key.of( "gcTimePercentage" );
+	public static final Key	collectionsPerSecond		= Key.of( "collectionsPerSecond" );
+	public static final Key	allocatedBytes				= Key.of( "allocatedBytes" );
+	public static final Key	allocationRate				= Key.of( "allocationRate" );
+	public static final Key	collectors					= Key.of( "collectors" );
+	public static final Key	count						= Key.of( "count" );
+	public static final Key	time						= Key.of( "time" );
+	public static final Key	bootId						= Key.of( "bootId" );
+	public static final Key	cpu							= Key.of( "cpu" );
+	public static final Key	memory						= Key.of( "memory" );
+	public static final Key	total						= Key.of( "total" );
+	public static final Key	os							= Key.of( "os" );
+	public static final Key	disks						= Key.of( "disks" );
+	public static final Key	vendor						= Key.of( "vendor" );
+	public static final Key	identifier					= Key.of( "identifier" );
+	public static final Key	microarchitecture			= Key.of( "microarchitecture" );
+	public static final Key	physicalPackageCount		= Key.of( "physicalPackageCount" );
+	public static final Key	physicalProcessorCount		= Key.of( "physicalProcessorCount" );
+	public static final Key	logicalProcessorCount		= Key.of( "logicalProcessorCount" );
+	public static final Key	maxFrequency				= Key.of( "maxFrequency" );
+	public static final Key	family						= Key.of( "family" );
+	public static final Key	manufacturer				= Key.of( "manufacturer" );
+	public static final Key	version						= Key.of( "version" );
+	public static final Key	buildNumber					= Key.of( "buildNumber" );
+	public static final Key	bitness						= Key.of( "bitness" );
+	public static final Key	model						= Key.of( "model" );
+	public static final Key	serial						= Key.of( "serial" );
+
+}
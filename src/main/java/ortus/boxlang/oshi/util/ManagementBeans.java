@@ -0,0 +1,56 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.util;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.List;
+
+/**
+ * The JVM management beans the module reads from, looked up once.
+ */
+public final class ManagementBeans {
+
+	/**
+	 * The JVM memory system
+	 */
+	public static final MemoryMXBean					MEMORY				= ManagementFactory.getMemoryMXBean();
+
+	/**
+	 * The JVM memory pools: Metaspace, Code Cache segments, Eden, Survivor, Old Gen, etc.
+	 */
+	public static final List<MemoryPoolMXBean>			MEMORY_POOLS		= List.copyOf( ManagementFactory.getMemoryPoolMXBeans() );
+
+	/**
+	 * The JVM garbage collectors, e.g. G1 Young Generation and G1 Old Generation
+	 */
+	public static final List<GarbageCollectorMXBean>	GARBAGE_COLLECTORS	= List.copyOf( ManagementFactory.getGarbageCollectorMXBeans() );
+
+	/**
+	 * The JVM thread system with the HotSpot allocation counters, or null if the JVM does not provide them
+	 */
+	public static final com.sun.management.ThreadMXBean	THREADS				= ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+	    ? threads
+	    : null;
+
+	private ManagementBeans() {
+	}
+
+}
@@ -0,0 +1,279 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A small kernel pseudo-file (<code>/proc</code>, <code>/sys/fs/cgroup</code>) that is read over and over.
+ * <p>
+ * The channel is opened once and every read goes from offset 0 into the same direct {@link ByteBuffer}, so a read
+ * is a single <code>pread</code> and does not allocate. The static helpers parse the numbers in place from the
+ * buffer position, without decoding the content to strings. Content past the buffer capacity is not read, so size
+ * the buffer for the lines you need.
+ * <p>
+ * Instances are not thread safe, callers must guard the reads and the parsing of the buffer.
+ */
+public final class ProcFile implements Closeable {
+
+	/**
+	 * The file to read
+	 */
+	private final Path			path;
+
+	/**
+	 * The buffer the file is read into
+	 */
+	private final ByteBuffer	buffer;
+
+	/**
+	 * The open channel, null until the first read or after a failure
+	 */
+	private FileChannel			channel;
+
+	/**
+	 * Constructor
+	 *
+	 * @param path     The file to read
+	 * @param capacity The number of bytes to read at most
+	 */
+	public ProcFile( Path path, int capacity ) {
+		this.path	= path;
+		this.buffer	= ByteBuffer.allocateDirect( capacity );
+	}
+
+	/**
+	 * Read the file from the start into the buffer. On failure the channel is closed and reopened on the next read.
+	 *
+	 * @return The buffer, positioned at 0 and limited to the bytes read
+	 *
+	 * @throws IOException If the file can't be read
+	 */
+	public ByteBuffer read() throws IOException {
+		try {
+			if ( this.channel == null ) {
+				this.channel = FileChannel.open( this.path, StandardOpenOption.READ );
+			}
+			this.buffer.clear();
+			long	position	= 0;
+			int		read;
+			while ( this.buffer.hasRemaining() && ( read = this.channel.read( this.buffer, position ) ) > 0 ) {
+				position += read;
+			}
+			return this.buffer.flip();
+		} catch ( IOException e ) {
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Get the file this reads
+	 *
+	 * @return The path
+	 */
+	public Path getPath() {
+		return this.path;
+	}
+
+	/**
+	 * Close the channel
+	 */
+	@Override
+	public void close() {
+		if ( this.channel != null ) {
+			try {
+				this.channel.close();
+			} catch ( IOException e ) {
+				// Nothing to release
+			}
+			this.channel = null;
+		}
+	}
+
+	/**
+	 * Encode a line label to match with {@link #seekLine(ByteBuffer, byte[])}, once as a constant
+	 *
+	 * @param label The label, e.g. <code>MemAvailable:</code>
+	 *
+	 * @return The label bytes
+	 */
+	public static byte[] label( String label ) {
+		return label.getBytes( StandardCharsets.US_ASCII );
+	}
+
+	/**
+	 * Move the buffer position right after the first line that starts with the label
+	 *
+	 * @param buffer The buffer read from the file
+	 * @param label  The label bytes
+	 *
+	 * @return True if the line was found, false if not, leaving the position at the limit
+	 */
+	public static boolean seekLine( ByteBuffer buffer, byte[] label ) {
+		int	limit	= buffer.limit();
+		int	start	= 0;
+		while ( start + label.length <= limit ) {
+			if ( startsWith( buffer, start, label ) ) {
+				buffer.position( start + label.length );
+				return true;
+			}
+			// Skip to the next line
+			while ( start < limit && buffer.get( start ) != '\n' ) {
+				start++;
+			}
+			start++;
+		}
+		buffer.position( limit );
+		return false;
+	}
+
+	/**
+	 * Parse the next unsigned integer of the current line, skipping the separators before it
+	 *
+	 * @param buffer The buffer, positioned before the number
+	 *
+	 * @return The number, or -1 if the line or the buffer ends first
+	 */
+	public static long nextLong( ByteBuffer buffer ) {
+		if ( !skipToDigit( buffer ) ) {
+			return -1L;
+		}
+		long value = 0;
+		while ( buffer.hasRemaining() ) {
+			byte digit = buffer.get( buffer.position() );
+			if ( digit < '0' || digit > '9' ) {
+				break;
+			}
+			value = value * 10 + ( digit - '0' );
+			buffer.position( buffer.position() + 1 );
+		}
+		return value;
+	}
+
+	/**
+	 * Parse the next unsigned decimal of the current line, e.g. <code>0.52</code>, skipping the separators before it
+	 *
+	 * @param buffer The buffer, positioned before the number
+	 *
+	 * @return The number, or -1 if the line or the buffer ends first
+	 */
+	public static double nextDouble( ByteBuffer buffer ) {
+		long integer = nextLong( buffer );
+		if ( integer < 0 || !buffer.hasRemaining() || buffer.get( buffer.position() ) != '.' ) {
+			return integer;
+		}
+		buffer.position( buffer.position() + 1 );
+		long	fraction	= 0;
+		long	scale		= 1;
+		while ( buffer.hasRemaining() ) {
+			byte digit = buffer.get( buffer.position() );
+			if ( digit < '0' || digit > '9' ) {
+				break;
+			}
+			fraction	= fraction * 10 + ( digit - '0' );
+			scale		*= 10;
+			buffer.position( buffer.position() + 1 );
+		}
+		return integer + ( double ) fraction / scale;
+	}
+
+	/**
+	 * Move the position right after the next occurrence of a separator on the current line, e.g. past the
+	 * <code>=</code> of <code>avg10=0.52</code> whose label holds digits
+	 *
+	 * @param buffer    The buffer
+	 * @param separator The separator to skip
+	 *
+	 * @return True if the separator was found before the end of the line
+	 */
+	public static boolean skipPast( ByteBuffer buffer, byte separator ) {
+		while ( buffer.hasRemaining() ) {
+			byte current = buffer.get();
+			if ( current == separator ) {
+				return true;
+			}
+			if ( current == '\n' ) {
+				buffer.position( buffer.position() - 1 );
+				return false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Whether the buffer content at the current position starts with the given bytes
+	 *
+	 * @param buffer The buffer
+	 * @param token  The bytes to match
+	 *
+	 * @return True if it matches
+	 */
+	public static boolean startsWith( ByteBuffer buffer, byte[] token ) {
+		return startsWith( buffer, buffer.position(), token );
+	}
+
+	/**
+	 * Whether the buffer content at the given offset starts with the given bytes
+	 *
+	 * @param buffer The buffer
+	 * @param offset The offset to match at
+	 * @param token  The bytes to match
+	 *
+	 * @return True if it matches
+	 */
+	private static boolean startsWith( ByteBuffer buffer, int offset, byte[] token ) {
+		if ( offset + token.length > buffer.limit() ) {
+			return false;
+		}
+		for ( int i = 0; i < token.length; i++ ) {
+			if ( buffer.get( offset + i ) != token[ i ] ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Move the position to the next digit of the current line
+	 *
+	 * @param buffer The buffer
+	 *
+	 * @return True if a digit was found before the end of the line
+	 */
+	private static boolean skipToDigit( ByteBuffer buffer ) {
+		while ( buffer.hasRemaining() ) {
+			byte current = buffer.get( buffer.position() );
+			if ( current >= '0' && current <= '9' ) {
+				return true;
+			}
+			if ( current == '\n' ) {
+				return false;
+			}
+			buffer.position( buffer.position() + 1 );
+		}
+		return false;
+	}
+
+}
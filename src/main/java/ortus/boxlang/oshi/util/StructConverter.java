@@ -0,0 +1,341 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.oshi.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ortus.boxlang.runtime.dynamic.casters.StringCaster;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * Converts OSHI objects into BoxLang structs of their getter values.
+ * <p>
+ * The getters of each class are resolved once into {@link MethodHandle}s and cached per class, so converting
+ * the same kind of object again does not reflect. Only the requested fields are read, and the getters that probe
+ * the system (USB devices, sensors, processes, disks, network interfaces, etc.) or expose secrets (the environment
+ * and command line of a process) are skipped unless they are requested explicitly. Nested OSHI objects are converted
+ * the same way, up to {@link #MAX_DEPTH} levels, and their skipped getters are never read.
+ */
+public final class StructConverter {
+
+	/**
+	 * The maximum nesting of OSHI objects to convert, deeper objects are returned as is
+	 */
+	public static final int						MAX_DEPTH	= 4;
+
+	/**
+	 * The fields that trigger system probes or expose secrets, only read when requested
+	 */
+	private static final Set<Key>				SKIPPED		= Set.of(
+	    // System probes
+	    Key.of( "usbDevices" ),
+	    Key.of( "sensors" ),
+	    Key.of( "powerSources" ),
+	    Key.of( "displays" ),
+	    Key.of( "graphicsCards" ),
+	    Key.of( "soundCards" ),
+	    Key.of( "logicalVolumeGroups" ),
+	    Key.of( "processes" ),
+	    Key.of( "childProcesses" ),
+	    Key.of( "descendantProcesses" ),
+	    Key.of( "threadDetails" ),
+	    Key.of( "services" ),
+	    Key.of( "sessions" ),
+	    Key.of( "desktopWindows" ),
+	    Key.of( "internetProtocolStats" ),
+	    Key.of( "processorCpuLoadTicks" ),
+	    Key.of( "networkIFs" ),
+	    Key.of( "diskStores" ),
+	    Key.of( "fileSystem" ),
+	    Key.of( "networkParams" ),
+	    Key.of( "currentProcess" ),
+	    Key.of( "currentThread" ),
+	    // Secrets such as passwords and API keys passed to a process
+	    Key.of( "environmentVariables" ),
+	    Key.of( "arguments" ),
+	    Key.of( "commandLine" )
+	);
+
+	/**
+	 * The resolved getters of each class
+	 */
+	private static final ClassValue<Getter[]>	GETTERS		= new ClassValue<>() {
+
+		@Override
+		protected Getter[] computeValue( Class<?> type ) {
+			return resolve( type );
+		}
+	};
+
+	/**
+	 * A resolved getter
+	 *
+	 * @param name      The field name
+	 * @param handle    The getter, typed as <code>(Object)Object</code>
+	 * @param skipped   Whether the getter is only read when requested
+	 */
+	private record Getter( Key name, MethodHandle handle, boolean skipped ) {
+	}
+
+	private StructConverter() {
+	}
+
+	/**
+	 * Convert an OSHI object into a struct of its getter values
+	 *
+	 * @param object The OSHI object
+	 * @param fields The names of the fields to read, or null for all the fields except the skipped ones
+	 *
+	 * @return The struct
+	 *
+	 * @throws BoxRuntimeException If a requested field does not exist
+	 */
+	public static IStruct toStruct( Object object, Array fields ) {
+		if ( object == null ) {
+			throw new BoxRuntimeException( "Cannot convert a null object to a struct" );
+		}
+		Getter[] getters = GETTERS.get( object.getClass() );
+		if ( fields == null ) {
+			return toStruct( object, getters, 0 );
+		}
+
+		IStruct result = new Struct( IStruct.TYPES.LINKED );
+		for ( Object field : fields ) {
+			Key		name	= Key.of( StringCaster.cast( field ) );
+			Getter	getter	= find( getters, name );
+			if ( getter == null ) {
+				throw new BoxRuntimeException(
+				    "The field [" + name.getName() + "] does not exist on [" + object.getClass().getSimpleName() + "]. Valid fields are: "
+				        + Arrays.stream( getters ).map( g -> g.name().getName() ).toList()
+				);
+			}
+			result.put( getter.name(), convert( read( getter, object ), 1 ) );
+		}
+		return result;
+	}
+
+	/**
+	 * Convert an object with all its fields except the skipped ones
+	 *
+	 * @param object  The object
+	 * @param getters The resolved getters of its class
+	 * @param depth   The current nesting
+	 *
+	 * @return The struct
+	 */
+	private static IStruct toStruct( Object object, Getter[] getters, int depth ) {
+		IStruct result = new Struct( IStruct.TYPES.LINKED );
+		for ( Getter getter : getters ) {
+			if ( !getter.skipped() ) {
+				result.put( getter.name(), convert( read( getter, object ), depth + 1 ) );
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Convert a getter value into a BoxLang friendly value
+	 *
+	 * @param value The value
+	 * @param depth The nesting of the value
+	 *
+	 * @return The converted value
+	 */
+	private static Object convert( Object value, int depth ) {
+		if ( value == null || value instanceof String || value instanceof Number || value instanceof Boolean ) {
+			return value;
+		}
+		if ( value instanceof Character || value instanceof Enum<?> ) {
+			return value.toString();
+		}
+		if ( value.getClass().isArray() ) {
+			int		length	= java.lang.reflect.Array.getLength( value );
+			Array	result	= new Array( length );
+			for ( int i = 0; i < length; i++ ) {
+				result.add( convert( java.lang.reflect.Array.get( value, i ), depth ) );
+			}
+			return result;
+		}
+		if ( value instanceof Collection<?> collection ) {
+			Array result = new Array( collection.size() );
+			for ( Object item : collection ) {
+				result.add( convert( item, depth ) );
+			}
+			return result;
+		}
+		if ( value instanceof Map<?, ?> map ) {
+			IStruct result = new Struct( IStruct.TYPES.LINKED );
+			for ( Map.Entry<?, ?> entry : map.entrySet() ) {
+				result.put( Key.of( StringCaster.cast( entry.getKey() ) ), convert( entry.getValue(), depth ) );
+			}
+			return result;
+		}
+		if ( depth < MAX_DEPTH && value.getClass().getName().startsWith( "oshi." ) ) {
+			return toStruct( value, GETTERS.get( value.getClass() ), depth );
+		}
+		return value;
+	}
+
+	/**
+	 * Read a getter, platforms that do not support a value return null
+	 *
+	 * @param getter The getter
+	 * @param object The object
+	 *
+	 * @return The value
+	 */
+	private static Object read( Getter getter, Object object ) {
+		try {
+			return getter.handle().invokeExact( object );
+		} catch ( UnsupportedOperationException e ) {
+			return null;
+		} catch ( RuntimeException | Error e ) {
+			throw e;
+		} catch ( Throwable e ) {
+			throw new BoxRuntimeException( "Error reading the field [" + getter.name().getName() + "]", e );
+		}
+	}
+
+	/**
+	 * Find a getter by field name
+	 *
+	 * @param getters The getters
+	 * @param name    The field name
+	 *
+	 * @return The getter or null if not found
+	 */
+	private static Getter find( Getter[] getters, Key name ) {
+		for ( Getter getter : getters ) {
+			if ( getter.name().equals( name ) ) {
+				return getter;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Resolve the public no-argument getters of a class into method handles, sorted by field name
+	 *
+	 * @param type The class
+	 *
+	 * @return The getters
+	 */
+	private static Getter[] resolve( Class<?> type ) {
+		List<Getter>	getters	= new ArrayList<>();
+		Method[]		methods	= type.getMethods();
+		Arrays.sort( methods, Comparator.comparing( Method::getName ) );
+
+		for ( Method method : methods ) {
+			String	methodName	= method.getName();
+			int		prefix		= methodName.startsWith( "get" ) ? 3 : methodName.startsWith( "is" ) ? 2 : 0;
+			if ( prefix == 0 || methodName.length() == prefix || method.getParameterCount() > 0 || method.getReturnType() == void.class
+			    || Modifier.isStatic( method.getModifiers() ) || methodName.equals( "getClass" ) ) {
+				continue;
+			}
+			MethodHandle handle = unreflect( type, method );
+			if ( handle == null ) {
+				continue;
+			}
+			Key name = Key.of( Character.toLowerCase( methodName.charAt( prefix ) ) + methodName.substring( prefix + 1 ) );
+			getters.add( new Getter( name, handle.asType( MethodType.methodType( Object.class, Object.class ) ), SKIPPED.contains( name ) ) );
+		}
+		return getters.toArray( Getter[]::new );
+	}
+
+	/**
+	 * Get a method handle for a getter. OSHI implementation classes are often not public, so the getter is looked up
+	 * on the public interfaces and superclasses that declare it.
+	 *
+	 * @param type   The class
+	 * @param method The getter
+	 *
+	 * @return The method handle or null if the getter is not accessible
+	 */
+	private static MethodHandle unreflect( Class<?> type, Method method ) {
+		for ( Class<?> current = type; current != null; current = current.getSuperclass() ) {
+			MethodHandle handle = unreflectDeclared( current, method.getName() );
+			if ( handle != null ) {
+				return handle;
+			}
+			for ( Class<?> contract : current.getInterfaces() ) {
+				handle = unreflectInterface( contract, method.getName() );
+				if ( handle != null ) {
+					return handle;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Get a method handle for a getter declared on a public interface or one of its parents
+	 *
+	 * @param contract   The interface
+	 * @param methodName The getter name
+	 *
+	 * @return The method handle or null if not declared or not accessible
+	 */
+	private static MethodHandle unreflectInterface( Class<?> contract, String methodName ) {
+		MethodHandle handle = unreflectDeclared( contract, methodName );
+		if ( handle != null ) {
+			return handle;
+		}
+		for ( Class<?> parent : contract.getInterfaces() ) {
+			handle = unreflectInterface( parent, methodName );
+			if ( handle != null ) {
+				return handle;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Get a method handle for a getter declared on a public class or interface
+	 *
+	 * @param declaring  The class or interface
+	 * @param methodName The getter name
+	 *
+	 * @return The method handle or null if not declared or not accessible
+	 */
+	private static MethodHandle unreflectDeclared( Class<?> declaring, String methodName ) {
+		if ( !Modifier.isPublic( declaring.getModifiers() ) ) {
+			return null;
+		}
+		try {
+			return MethodHandles.publicLookup().unreflect( declaring.getMethod( methodName ) );
+		} catch ( NoSuchMethodException | IllegalAccessException e ) {
+			return null;
+		}
+	}
+
+}
@@ -1,18 +1,29 @@
 package ortus.boxlang.oshi.bifs;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import ortus.boxlang.oshi.services.OshiService;
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
 import ortus.boxlang.runtime.scopes.IScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 
 public class GetCpuUsageTest {
 
@@ -46,4 +57,60 @@ public class GetCpuUsageTest {
 		System.out.println( "usage: " + usage );
 		assertThat( usage ).isInstanceOf( Double.class );
 	}
+
+	@DisplayName( "It can get the cpu usage with a blocking interval" )
+	@Test
+	public void testBlockingInterval() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getCPUUsage( 100 );
+		    """,
+		    context );
+		// @formatter:on
+		Double usage = variables.getAsDouble( result );
+		assertThat( usage ).isAtLeast( 0d );
+		assertThat( usage ).isAtMost( 1d );
+	}
+
+	@DisplayName( "It can get the cpu usage of the container" )
+	@Test
+	public void testContainerScope() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getCPUUsage( scope = "container" );
+		    measured = getCPUUsage( interval = 100, scope = "container" );
+		    """,
+		    context );
+		// @formatter:on
+		assertThat( variables.getAsDouble( result ) ).isAtLeast( 0d );
+		assertThat( variables.getAsDouble( result ) ).isAtMost( 1d );
+		assertThat( variables.getAsDouble( Key.of( "measured" ) ) ).isAtMost( 1d );
+	}
+
+	@DisplayName( "It rejects an unknown scope" )
+	@Test
+	public void testInvalidScope() {
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( "result = getCPUUsage( scope = \"pod\" )", context ) );
+	}
+
+	@DisplayName( "It emits the cpu usage as a Flight Recorder event" )
+	@Test
+	public void testFlightRecorderEvent() throws Exception {
+		OshiService.getInstance();
+		Path file = Files.createTempFile( "bx-oshi", ".jfr" );
+		try ( Recording recording = new Recording() ) {
+			recording.enable( "oshi.CpuLoad" ).withPeriod( Duration.ofMillis( 100 ) );
+			recording.start();
+			Thread.sleep( 500 );
+			recording.stop();
+			recording.dump( file );
+		}
+		List<RecordedEvent> events = RecordingFile.readAllEvents( file ).stream()
+		    .filter( event -> event.getEventType().getName().equals( "oshi.CpuLoad" ) )
+		    .toList();
+		assertThat( events ).isNotEmpty();
+		assertThat( events.get( 0 ).getDouble( "systemLoad" ) ).isAtMost( 1d );
+	}
 }
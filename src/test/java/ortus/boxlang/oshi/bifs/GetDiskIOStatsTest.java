@@ -0,0 +1,82 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+public class GetDiskIOStatsTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It can get the I/O stats of every disk" )
+	@Test
+	public void testAllDisks() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getDiskIOStats();
+		    """,
+		    context );
+		// @formatter:on
+		IStruct stats = variables.getAsStruct( result );
+		assertThat( stats ).isNotNull();
+		for ( Object value : stats.values() ) {
+			assertThat( ( Double ) ( ( IStruct ) value ).get( "readBytesPerSecond" ) ).isAtLeast( 0d );
+		}
+	}
+
+	@DisplayName( "It can get the I/O stats of one disk" )
+	@Test
+	public void testOneDisk() {
+		Set<String> names = OshiService.getInstance().getDiskIOSampler().getDiskNames();
+		assumeTrue( !names.isEmpty() );
+		variables.put( Key.of( "name" ), names.iterator().next() );
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getDiskIOStats( name );
+		    """,
+		    context );
+		// @formatter:on
+		IStruct stats = variables.getAsStruct( result );
+		assertThat( stats.get( "name" ) ).isEqualTo( variables.get( Key.of( "name" ) ) );
+		assertThat( stats ).containsKey( Key.of( "utilization" ) );
+	}
+
+	@DisplayName( "It throws if the disk does not exist" )
+	@Test
+	public void testMissingDisk() {
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( "result = getDiskIOStats( \"bx-oshi-missing-disk\" )", context ) );
+	}
+}
@@ -0,0 +1,57 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.IStruct;
+
+public class GetGCStatsTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It can get the GC stats" )
+	@Test
+	public void testGCStats() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    garbage = [];
+		    for ( i = 1; i <= 1000; i++ ) {
+		        garbage.append( repeatString( "x", 100 ) );
+		    }
+		    result = getGCStats();
+		    """,
+		    context );
+		// @formatter:on
+		IStruct stats = variables.getAsStruct( result );
+		assertThat( ( Long ) stats.get( "window" ) ).isAtLeast( 0L );
+		assertThat( ( Double ) stats.get( "gcTimePercentage" ) ).isAtLeast( 0d );
+		assertThat( ( Double ) stats.get( "collectionsPerSecond" ) ).isAtLeast( 0d );
+		assertThat( ( Long ) stats.get( "allocatedBytes" ) ).isAtLeast( 0L );
+		assertThat( ( IStruct ) stats.get( "collectors" ) ).isNotEmpty();
+	}
+}
@@ -0,0 +1,83 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.oshi.services.HardwareInventory;
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.IStruct;
+
+public class GetHardwareInventoryTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It can get the hardware inventory" )
+	@Test
+	public void testInventory() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getHardwareInventory();
+		    """,
+		    context );
+		// @formatter:on
+		IStruct inventory = variables.getAsStruct( result );
+		IStruct cpu = inventory.getAsStruct( Key.of( "cpu" ) );
+		assertThat( ( Integer ) cpu.get( "logicalProcessorCount" ) ).isGreaterThan( 0 );
+		assertThat( inventory.getAsStruct( Key.of( "memory" ) ).get( "total" ) ).isEqualTo( OshiService.getInstance().getSystemTotalMemory() );
+		assertThat( inventory.get( "bootId" ) ).isNotNull();
+	}
+
+	@DisplayName( "It can persist the inventory and read it back on the same boot" )
+	@Test
+	public void testPersistedInventory() throws Exception {
+		Path				file		= Files.createTempDirectory( "bx-oshi" ).resolve( "inventory.properties" );
+		HardwareInventory	discovered	= HardwareInventory.load( OshiService.getInstance().getSystemInfo(), file.toString() );
+		HardwareInventory	persisted	= HardwareInventory.load( OshiService.getInstance().getSystemInfo(), file.toString() );
+
+		assertThat( Files.exists( file ) ).isTrue();
+		assertThat( discovered.isPersisted() ).isFalse();
+		assertThat( persisted.isPersisted() ).isTrue();
+		assertThat( persisted.toStruct() ).isEqualTo( discovered.toStruct() );
+	}
+
+	@DisplayName( "It discovers the inventory again when the persisted file is corrupted" )
+	@Test
+	public void testCorruptedInventory() throws Exception {
+		Path file = Files.createTempDirectory( "bx-oshi" ).resolve( "inventory.properties" );
+		HardwareInventory.load( OshiService.getInstance().getSystemInfo(), file.toString() );
+		// Same version and boot id, but the values were lost
+		Files.write( file, Files.readAllLines( file ).stream().filter( line -> !line.startsWith( "memory.total" ) ).toList() );
+
+		HardwareInventory inventory = HardwareInventory.load( OshiService.getInstance().getSystemInfo(), file.toString() );
+		assertThat( inventory.isPersisted() ).isFalse();
+		assertThat( inventory.getTotalMemory() ).isGreaterThan( 0L );
+	}
+}
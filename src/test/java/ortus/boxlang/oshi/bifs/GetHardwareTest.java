@@ -13,6 +13,7 @@ import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
 import ortus.boxlang.runtime.scopes.IScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.IStruct;
 
 public class GetHardwareTest {
 
@@ -46,4 +47,19 @@ public class GetHardwareTest {
 		assertThat( variables.get( result ) ).isNotNull();
 		assertThat( variables.get( Key.of( "hal" ) ) ).isNotNull();
 	}
+
+	@DisplayName( "It can get the hardware as a struct" )
+	@Test
+	public void testAsStruct() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getHardware( fields = [ "processor", "memory" ] );
+		    """,
+		    context );
+		// @formatter:on
+		IStruct hardware = variables.getAsStruct( result );
+		assertThat( hardware.keySet() ).containsExactly( Key.of( "processor" ), Key.of( "memory" ) );
+		assertThat( hardware.get( "processor" ) ).isInstanceOf( IStruct.class );
+	}
 }
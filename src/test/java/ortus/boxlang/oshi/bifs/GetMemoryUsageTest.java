@@ -0,0 +1,66 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.IStruct;
+
+public class GetMemoryUsageTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It can get the non-heap memory usage" )
+	@Test
+	public void testNonHeap() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getMemoryUsage( "non-heap" );
+		    """,
+		    context );
+		// @formatter:on
+		assertThat( ( Long ) variables.get( result ) ).isGreaterThan( 0L );
+	}
+
+	@DisplayName( "It can get the memory pools breakdown" )
+	@Test
+	public void testPools() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getMemoryUsage( "pools" );
+		    """,
+		    context );
+		// @formatter:on
+		IStruct pools = variables.getAsStruct( result );
+		System.out.println( "Pools: " + pools );
+		assertThat( pools.containsKey( Key.of( "Metaspace" ) ) ).isTrue();
+		IStruct metaspace = pools.getAsStruct( Key.of( "Metaspace" ) );
+		assertThat( metaspace.get( Key.of( "type" ) ) ).isEqualTo( "non-heap" );
+		assertThat( ( Long ) metaspace.get( Key.of( "used" ) ) ).isGreaterThan( 0L );
+	}
+}
@@ -0,0 +1,81 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.oshi.services.MetricHistory;
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.services.SystemMetric;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+public class GetMetricHistoryTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It can get the history of a metric" )
+	@Test
+	public void testBif() {
+		// Take a couple of samples without waiting for the sampler
+		MetricHistory history = OshiService.getInstance().getMetricHistory();
+		history.run();
+		history.run();
+
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getMetricHistory( "systemFreeMemory" );
+		    """,
+		    context );
+		// @formatter:on
+		Array samples = variables.getAsArray( result );
+		assertThat( samples.size() ).isAtLeast( 2 );
+		IStruct sample = ( IStruct ) samples.get( 0 );
+		assertThat( sample.get( Key.of( "timestamp" ) ) ).isNotNull();
+		assertThat( sample.get( Key.of( "value" ) ) ).isNotNull();
+	}
+
+	@DisplayName( "It can limit the history of a metric" )
+	@Test
+	public void testLimit() {
+		MetricHistory history = OshiService.getInstance().getMetricHistory();
+		history.run();
+		history.run();
+		assertThat( history.getSamples( SystemMetric.CPU_USAGE, 0, 1 ).size() ).isEqualTo( 1 );
+	}
+
+	@DisplayName( "It throws on metrics that are not tracked" )
+	@Test
+	public void testUntrackedMetric() {
+		assertThrows(
+		    BoxRuntimeException.class,
+		    () -> instance.executeSource( "result = getMetricHistory( \"totalSpace\" );", context )
+		);
+	}
+}
@@ -0,0 +1,66 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+
+public class GetMetricsExpositionTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It can get the metrics in the openmetrics format" )
+	@Test
+	public void testOpenMetrics() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getMetricsExposition();
+		    """,
+		    context );
+		// @formatter:on
+		String exposition = variables.getAsString( result );
+		System.out.println( exposition );
+		assertThat( exposition ).contains( "# TYPE bx_oshi_cpu_usage_ratio gauge" );
+		assertThat( exposition ).containsMatch( "bx_oshi_system_memory_total_bytes \\d+\n" );
+		assertThat( exposition ).endsWith( "# EOF\n" );
+	}
+
+	@DisplayName( "It can get the metrics in the prometheus format" )
+	@Test
+	public void testPrometheus() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getMetricsExposition( "prometheus" );
+		    """,
+		    context );
+		// @formatter:on
+		String exposition = variables.getAsString( result );
+		assertThat( exposition ).containsMatch( "bx_oshi_cpu_usage_ratio \\d+\\.\\d{6}\n" );
+		assertThat( exposition ).doesNotContain( "# EOF" );
+	}
+}
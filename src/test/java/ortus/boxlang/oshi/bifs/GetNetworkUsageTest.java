@@ -0,0 +1,82 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+public class GetNetworkUsageTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It can get the usage of every network interface" )
+	@Test
+	public void testAllInterfaces() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getNetworkUsage();
+		    """,
+		    context );
+		// @formatter:on
+		IStruct usage = variables.getAsStruct( result );
+		assertThat( usage ).isNotNull();
+		for ( Object value : usage.values() ) {
+			assertThat( ( Double ) ( ( IStruct ) value ).get( "bytesReceivedPerSecond" ) ).isAtLeast( 0d );
+		}
+	}
+
+	@DisplayName( "It can get the usage of one network interface" )
+	@Test
+	public void testOneInterface() {
+		Set<String> names = OshiService.getInstance().getNetworkSampler().getInterfaceNames();
+		assumeTrue( !names.isEmpty() );
+		variables.put( Key.of( "name" ), names.iterator().next() );
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getNetworkUsage( name );
+		    """,
+		    context );
+		// @formatter:on
+		IStruct usage = variables.getAsStruct( result );
+		assertThat( usage.get( "name" ) ).isEqualTo( variables.get( Key.of( "name" ) ) );
+		assertThat( usage ).containsKey( Key.of( "packetsSentPerSecond" ) );
+	}
+
+	@DisplayName( "It throws if the interface does not exist" )
+	@Test
+	public void testMissingInterface() {
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( "result = getNetworkUsage( \"bx-oshi-missing0\" )", context ) );
+	}
+}
@@ -0,0 +1,71 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+public class GetPressureTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	// PSI needs Linux 4.20+ and can be disabled at boot
+	static boolean isPressureAvailable() {
+		return Files.isReadable( Path.of( "/proc/pressure/memory" ) );
+	}
+
+	@DisplayName( "It can get the memory pressure" )
+	@Test
+	@EnabledIf( "isPressureAvailable" )
+	public void testMemoryPressure() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getPressure( "memory" );
+		    """,
+		    context );
+		// @formatter:on
+		IStruct pressure = variables.getAsStruct( result );
+		System.out.println( "memory pressure: " + pressure );
+		IStruct some = pressure.getAsStruct( Key.of( "some" ) );
+		assertThat( ( Double ) some.get( "avg10" ) ).isAtLeast( 0d );
+		assertThat( ( Long ) some.get( "total" ) ).isAtLeast( 0L );
+		assertThat( pressure.containsKey( Key.of( "full" ) ) ).isTrue();
+	}
+
+	@DisplayName( "It rejects an unknown resource" )
+	@Test
+	public void testInvalidResource() {
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( "result = getPressure( resource = \"gpu\" )", context ) );
+	}
+}
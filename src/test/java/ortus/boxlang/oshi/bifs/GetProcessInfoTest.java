@@ -0,0 +1,74 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+public class GetProcessInfoTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+	@DisplayName( "It can get the information of the current JVM process" )
+	@Test
+	public void testCurrentProcess() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    first = getProcessInfo();
+		    result = getProcessInfo();
+		    """,
+		    context );
+		// @formatter:on
+		IStruct info = variables.getAsStruct( result );
+		assertThat( info.get( "pid" ) ).isEqualTo( ( int ) ProcessHandle.current().pid() );
+		assertThat( ( Long ) info.get( "residentSetSize" ) ).isGreaterThan( 0L );
+		assertThat( ( Integer ) info.get( "threadCount" ) ).isGreaterThan( 0 );
+		assertThat( ( Double ) info.get( "cpuUsage" ) ).isAtLeast( 0d );
+	}
+
+	@DisplayName( "It can get the information of a process by pid" )
+	@Test
+	public void testProcessByPid() {
+		variables.put( Key.of( "pid" ), ProcessHandle.current().pid() );
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getProcessInfo( pid );
+		    """,
+		    context );
+		// @formatter:on
+		assertThat( variables.getAsStruct( result ).get( "pid" ) ).isEqualTo( ( int ) ProcessHandle.current().pid() );
+	}
+
+	@DisplayName( "It throws if the process does not exist" )
+	@Test
+	public void testMissingProcess() {
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( "result = getProcessInfo( 999999999 )", context ) );
+	}
+}
@@ -0,0 +1,53 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.Array;
+
+public class GetProcessorCpuUsageTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It can get the cpu usage of each processor" )
+	@Test
+	public void testBif() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getProcessorCpuUsage();
+		    """,
+		    context );
+		// @formatter:on
+		Array usage = variables.getAsArray( result );
+		System.out.println( "usage: " + usage );
+		assertThat( usage.size() ).isGreaterThan( 0 );
+		for ( Object load : usage ) {
+			assertThat( ( Double ) load ).isAtLeast( 0d );
+		}
+	}
+}
@@ -6,7 +6,11 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
 
+import ortus.boxlang.oshi.services.LinuxProcReader;
+import ortus.boxlang.oshi.services.OshiService;
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
@@ -45,4 +49,41 @@ public class GetSystemFreeMemoryTest {
 		System.out.println( variables.get( result ) );
 		assertThat( variables.get( result ) ).isNotNull();
 	}
+
+	@DisplayName( "It reads the same values from /proc as OSHI on Linux" )
+	@EnabledOnOs( OS.LINUX )
+	@Test
+	public void testProcFastPath() {
+		OshiService		oshi	= OshiService.getInstance();
+		LinuxProcReader	reader	= oshi.getProcReader();
+		assertThat( reader ).isNotNull();
+
+		// Free memory moves between the two reads, only check they are close
+		long available = reader.getAvailableMemory();
+		assertThat( ( double ) available ).isWithin( 0.1 * oshi.getSystemTotalMemory() ).of( oshi.getHardware().getMemory().getAvailable() );
+
+		long[] ticks = new long[ 8 ];
+		assertThat( reader.readCpuTicks( ticks ) ).isTrue();
+		assertThat( ticks[ 0 ] ).isGreaterThan( 0L );
+
+		double[] averages = new double[ 3 ];
+		assertThat( reader.readLoadAverage( averages ) ).isTrue();
+		assertThat( averages[ 0 ] ).isAtLeast( 0d );
+	}
+
+	@DisplayName( "It can get the free memory of the container" )
+	@Test
+	public void testContainerScope() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getSystemFreeMemory( scope = "container" );
+		    total = getSystemTotalMemory( scope = "container" );
+		    """,
+		    context );
+		// @formatter:on
+		long free = ( Long ) variables.get( result );
+		assertThat( free ).isAtLeast( 0L );
+		assertThat( free ).isAtMost( ( Long ) variables.get( Key.of( "total" ) ) );
+	}
 }
@@ -7,12 +7,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.oshi.util.KeyDictionary;
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
 import ortus.boxlang.runtime.scopes.IScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
 
 public class GetSystemInfoTest {
 
@@ -45,4 +49,37 @@ public class GetSystemInfoTest {
 		// @formatter:on
 		assertThat( variables.get( result ) ).isNotNull();
 	}
+
+	@DisplayName( "It can get the system info as a struct" )
+	@Test
+	public void testAsStruct() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getSystemInfo( fields = [ "operatingSystem" ] );
+		    """,
+		    context );
+		// @formatter:on
+		IStruct systemInfo = variables.getAsStruct( result );
+		assertThat( systemInfo.keySet() ).containsExactly( Key.of( "operatingSystem" ) );
+		assertThat( systemInfo.getAsStruct( Key.of( "operatingSystem" ) ) ).containsKey( Key.of( "family" ) );
+	}
+
+	@DisplayName( "It starts OSHI on the first call when the module is configured without warm-up" )
+	@Test
+	public void testLazyStart() {
+		OshiService.shutdown();
+		OshiService.configure( Struct.of( KeyDictionary.warmUp, false ) );
+
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getSystemInfo();
+		    """,
+		    context );
+		// @formatter:on
+		assertThat( variables.get( result ) ).isNotNull();
+		assertThat( OshiService.getInstance().getSettings().get( KeyDictionary.warmUp ) ).isEqualTo( false );
+		OshiService.shutdown();
+	}
 }
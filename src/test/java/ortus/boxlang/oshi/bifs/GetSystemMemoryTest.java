@@ -45,4 +45,20 @@ public class GetSystemMemoryTest {
 		System.out.println( variables.get( result ) );
 		assertThat( variables.get( result ) ).isNotNull();
 	}
+
+	@DisplayName( "It can get the total memory of the container" )
+	@Test
+	public void testContainerScope() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getSystemTotalMemory( scope = "container" );
+		    host = getSystemTotalMemory();
+		    """,
+		    context );
+		// @formatter:on
+		long container = ( Long ) variables.get( result );
+		assertThat( container ).isGreaterThan( 0L );
+		assertThat( container ).isAtMost( ( Long ) variables.get( Key.of( "host" ) ) );
+	}
 }
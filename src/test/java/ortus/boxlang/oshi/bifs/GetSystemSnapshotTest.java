@@ -0,0 +1,82 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+public class GetSystemSnapshotTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It can get a snapshot of all the metrics" )
+	@Test
+	public void testAllMetrics() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getSystemSnapshot();
+		    """,
+		    context );
+		// @formatter:on
+		IStruct snapshot = variables.getAsStruct( result );
+		System.out.println( "Snapshot: " + snapshot );
+		assertThat( snapshot.containsKey( Key.of( "cpuUsage" ) ) ).isTrue();
+		assertThat( snapshot.containsKey( Key.of( "systemFreeMemory" ) ) ).isTrue();
+		assertThat( snapshot.containsKey( Key.of( "jvmMaxMemory" ) ) ).isTrue();
+		assertThat( snapshot.containsKey( Key.of( "totalSpace" ) ) ).isFalse();
+	}
+
+	@DisplayName( "It can get a snapshot of only the requested metrics" )
+	@EnabledOnOs( { OS.LINUX, OS.MAC } )
+	@Test
+	public void testRequestedMetrics() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getSystemSnapshot( metrics = [ "systemTotalMemory", "totalSpace" ], path = "/" );
+		    """,
+		    context );
+		// @formatter:on
+		IStruct snapshot = variables.getAsStruct( result );
+		assertThat( snapshot.size() ).isEqualTo( 2 );
+		assertThat( snapshot.get( Key.of( "totalSpace" ) ) ).isNotNull();
+	}
+
+	@DisplayName( "It throws on unknown metrics" )
+	@Test
+	public void testUnknownMetric() {
+		assertThrows(
+		    BoxRuntimeException.class,
+		    () -> instance.executeSource( "result = getSystemSnapshot( metrics = [ \"bogus\" ] );", context )
+		);
+	}
+}
@@ -0,0 +1,83 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+public class GetTopProcessesTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It can get the top processes by CPU" )
+	@Test
+	public void testTopByCpu() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    first = getTopProcesses();
+		    result = getTopProcesses( "cpu", 5 );
+		    """,
+		    context );
+		// @formatter:on
+		Array top = variables.getAsArray( result );
+		assertThat( top.size() ).isAtMost( 5 );
+		assertThat( top.size() ).isGreaterThan( 0 );
+		for ( int i = 1; i < top.size(); i++ ) {
+			assertThat( ( Double ) ( ( IStruct ) top.get( i - 1 ) ).get( "cpuUsage" ) )
+			    .isAtLeast( ( Double ) ( ( IStruct ) top.get( i ) ).get( "cpuUsage" ) );
+		}
+	}
+
+	@DisplayName( "It can get the top processes by memory" )
+	@Test
+	public void testTopByMemory() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = getTopProcesses( by = "memory", limit = 3 );
+		    """,
+		    context );
+		// @formatter:on
+		Array top = variables.getAsArray( result );
+		assertThat( top.size() ).isAtMost( 3 );
+		assertThat( top.size() ).isGreaterThan( 0 );
+		for ( int i = 1; i < top.size(); i++ ) {
+			assertThat( ( Long ) ( ( IStruct ) top.get( i - 1 ) ).get( "residentSetSize" ) )
+			    .isAtLeast( ( Long ) ( ( IStruct ) top.get( i ) ).get( "residentSetSize" ) );
+		}
+	}
+
+	@DisplayName( "It throws if the limit is not positive" )
+	@Test
+	public void testInvalidLimit() {
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( "result = getTopProcesses( limit = 0 )", context ) );
+	}
+}
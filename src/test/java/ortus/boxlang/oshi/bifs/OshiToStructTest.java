@@ -0,0 +1,94 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+public class OshiToStructTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It can convert an OSHI object to a struct" )
+	@Test
+	public void testToStruct() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = oshiToStruct( getHardware().getMemory() );
+		    """,
+		    context );
+		// @formatter:on
+		IStruct memory = variables.getAsStruct( result );
+		assertThat( ( Long ) memory.get( "total" ) ).isGreaterThan( 0L );
+		assertThat( memory.get( "virtualMemory" ) ).isInstanceOf( IStruct.class );
+	}
+
+	@DisplayName( "It skips the expensive fields unless they are requested" )
+	@Test
+	public void testExpensiveFields() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    all = oshiToStruct( getHardware() );
+		    result = oshiToStruct( getHardware(), [ "usbDevices" ] );
+		    """,
+		    context );
+		// @formatter:on
+		IStruct all = variables.getAsStruct( Key.of( "all" ) );
+		assertThat( all ).containsKey( Key.of( "memory" ) );
+		assertThat( all ).doesNotContainKey( Key.of( "usbDevices" ) );
+		assertThat( variables.getAsStruct( result ).keySet() ).containsExactly( Key.of( "usbDevices" ) );
+	}
+
+	@DisplayName( "It throws on unknown fields" )
+	@Test
+	public void testUnknownField() {
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( "result = oshiToStruct( getHardware(), [ \"nope\" ] )", context ) );
+	}
+
+	@DisplayName( "It never reads the environment or command line of a process unless requested" )
+	@Test
+	public void testSecretsSkipped() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    os = getOperatingSystem( asStruct = true );
+		    result = oshiToStruct( getOperatingSystem().getCurrentProcess() );
+		    """,
+		    context );
+		// @formatter:on
+		assertThat( variables.getAsStruct( Key.of( "os" ) ) ).doesNotContainKey( Key.of( "currentProcess" ) );
+		IStruct process = variables.getAsStruct( result );
+		assertThat( process ).containsKey( Key.of( "processID" ) );
+		assertThat( process ).doesNotContainKey( Key.of( "environmentVariables" ) );
+		assertThat( process ).doesNotContainKey( Key.of( "arguments" ) );
+		assertThat( process ).doesNotContainKey( Key.of( "commandLine" ) );
+	}
+}
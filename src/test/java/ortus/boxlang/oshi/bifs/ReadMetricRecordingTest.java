@@ -0,0 +1,138 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.oshi.services.MetricRecorder;
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+public class ReadMetricRecordingTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It can record the metrics and read them back" )
+	@Test
+	public void testReadRecording() throws Exception {
+		Path			directory	= Files.createTempDirectory( "bx-oshi-recording" );
+		// Room for 2 records per segment, so 5 samples rotate over 3 segments
+		MetricRecorder	recorder	= new MetricRecorder( OshiService.getInstance(), directory, 256 + 2 * 72, 10, null );
+		for ( int i = 0; i < 5; i++ ) {
+			recorder.run();
+			Thread.sleep( 5 );
+		}
+		recorder.close();
+		variables.put( Key.of( "directory" ), directory.toString() );
+
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = readMetricRecording( directory );
+		    """,
+		    context );
+		// @formatter:on
+		Array records = variables.getAsArray( result );
+		assertThat( records.size() ).isEqualTo( 5 );
+		IStruct first = ( IStruct ) records.get( 0 );
+		assertThat( first.get( "timestamp" ) ).isNotNull();
+		assertThat( first.get( "systemTotalMemory" ) ).isEqualTo( ( double ) OshiService.getInstance().getSystemTotalMemory() );
+		// The space metrics are not recorded without a path
+		assertThat( first.containsKey( "totalSpace" ) ).isFalse();
+
+		// Filter by time across the segments
+		long	from	= ( Long ) ( ( IStruct ) records.get( 1 ) ).get( "timestamp" );
+		long	to		= ( Long ) ( ( IStruct ) records.get( 3 ) ).get( "timestamp" );
+		variables.put( Key.of( "since" ), from );
+		variables.put( Key.of( "until" ), to );
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = readMetricRecording( directory, since, until );
+		    """,
+		    context );
+		// @formatter:on
+		assertThat( variables.getAsArray( result ).size() ).isEqualTo( 3 );
+	}
+
+	@DisplayName( "It rejects a file that is not a metric recording" )
+	@Test
+	public void testInvalidFile() throws Exception {
+		Path file = Files.createTempFile( "bx-oshi", ".oshirec" );
+		Files.write( file, new byte[ 512 ] );
+		variables.put( Key.of( "file" ), file.toString() );
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( "result = readMetricRecording( file )", context ) );
+	}
+
+	@DisplayName( "It rejects a recording with a corrupted record size" )
+	@Test
+	public void testCorruptedRecordSize() throws Exception {
+		Path			directory	= Files.createTempDirectory( "bx-oshi-recording" );
+		MetricRecorder	recorder	= new MetricRecorder( OshiService.getInstance(), directory, 4096, 1, null );
+		recorder.run();
+		recorder.close();
+		// A zero record size would never advance the scan
+		try ( Stream<Path> files = Files.list( directory ) ) {
+			Path	segment	= files.findFirst().orElseThrow();
+			byte[]	bytes	= Files.readAllBytes( segment );
+			ByteBuffer.wrap( bytes ).putInt( 12, 0 );
+			Files.write( segment, bytes );
+			variables.put( Key.of( "file" ), segment.toString() );
+		}
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( "result = readMetricRecording( file )", context ) );
+	}
+
+	@DisplayName( "It skips the corrupted segments of a recording directory" )
+	@Test
+	public void testCorruptedSegmentSkipped() throws Exception {
+		Path			directory	= Files.createTempDirectory( "bx-oshi-recording" );
+		// Room for 1 record per segment, so every sample rotates, even within the same millisecond
+		MetricRecorder	recorder	= new MetricRecorder( OshiService.getInstance(), directory, 256 + 72, 10, null );
+		recorder.run();
+		recorder.run();
+		recorder.close();
+		// A truncated segment, sorted before the valid ones
+		Files.write( directory.resolve( MetricRecorder.FILE_PREFIX + "0" + MetricRecorder.FILE_EXTENSION ), new byte[ 100 ] );
+		variables.put( Key.of( "directory" ), directory.toString() );
+
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    result = readMetricRecording( directory );
+		    """,
+		    context );
+		// @formatter:on
+		assertThat( variables.getAsArray( result ).size() ).isEqualTo( 2 );
+	}
+}
@@ -0,0 +1,104 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.oshi.services.MetricWatchdog;
+import ortus.boxlang.oshi.services.OshiService;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.events.IInterceptorLambda;
+import ortus.boxlang.runtime.interop.DynamicObject;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+public class RegisterMetricAlertTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It can register an alert that announces threshold events" )
+	@Test
+	public void testThresholdEvent() {
+		List<IStruct>		events		= new CopyOnWriteArrayList<>();
+		IInterceptorLambda	lambda		= data -> {
+											if ( "bx-oshi-test-cpu".equals( data.get( "name" ) ) ) {
+												events.add( data );
+											}
+											return false;
+										};
+		// Keep the registered instance, to unregister it
+		DynamicObject		listener	= DynamicObject.of( lambda );
+		instance.getInterceptorService().register( listener, MetricWatchdog.ON_SYSTEM_METRIC_THRESHOLD );
+		MetricWatchdog watchdog = OshiService.getInstance().getMetricWatchdog();
+		try {
+			// @formatter:off
+			instance.executeSource(
+			    """
+			    result = registerMetricAlert( name = "bx-oshi-test-cpu", metric = "cpuUsage", threshold = -1 );
+			    """,
+			    context );
+			// @formatter:on
+			IStruct alert = variables.getAsStruct( result );
+			assertThat( alert.get( "metric" ) ).isEqualTo( "cpuUsage" );
+			assertThat( alert.get( "operator" ) ).isEqualTo( "gt" );
+
+			// Evaluate twice: the event is announced once while the alert keeps firing
+			watchdog.run();
+			watchdog.run();
+			watchdog.awaitAnnouncements();
+			assertThat( events ).hasSize( 1 );
+			assertThat( ( Double ) events.get( 0 ).get( "value" ) ).isAtLeast( 0d );
+		} finally {
+			watchdog.unregister( "bx-oshi-test-cpu" );
+			instance.getInterceptorService().unregister( listener, MetricWatchdog.ON_SYSTEM_METRIC_THRESHOLD );
+		}
+	}
+
+	@DisplayName( "It requires a path for the space metrics" )
+	@Test
+	public void testSpaceMetricRequiresPath() {
+		assertThrows( BoxRuntimeException.class,
+		    () -> instance.executeSource( "result = registerMetricAlert( \"bx-oshi-test-space\", \"freeSpace\", 1024 )", context ) );
+	}
+
+	@DisplayName( "It skips the invalid alerts of the module setting" )
+	@Test
+	public void testInvalidConfiguredAlerts() {
+		Array			alerts		= Array.of(
+		    "notAStruct",
+		    Struct.of( "name", "bx-oshi-test-invalid", "metric", "unknownMetric", "threshold", 1 ),
+		    Struct.of( "name", "bx-oshi-test-valid", "metric", "cpuUsage", "threshold", 2 )
+		);
+		MetricWatchdog	watchdog	= new MetricWatchdog( OshiService.getInstance(), alerts );
+		assertThat( watchdog.unregister( "bx-oshi-test-invalid" ) ).isFalse();
+		assertThat( watchdog.unregister( "bx-oshi-test-valid" ) ).isTrue();
+	}
+}
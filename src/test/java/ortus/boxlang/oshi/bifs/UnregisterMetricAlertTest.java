@@ -0,0 +1,48 @@
+package ortus.boxlang.oshi.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+
+public class UnregisterMetricAlertTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It can unregister an alert" )
+	@Test
+	public void testUnregister() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    registerMetricAlert( name = "bx-oshi-test-unregister", metric = "cpuUsage", threshold = 2 );
+		    result = [ unregisterMetricAlert( "bx-oshi-test-unregister" ), unregisterMetricAlert( "bx-oshi-test-unregister" ) ];
+		    """,
+		    context );
+		// @formatter:on
+		assertThat( variables.getAsArray( result ) ).containsExactly( true, false ).inOrder();
+	}
+}